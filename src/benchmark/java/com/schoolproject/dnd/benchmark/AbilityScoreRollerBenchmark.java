@@ -0,0 +1,47 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.service.AbilityScoreRoller;
+import com.schoolproject.dnd.service.DiceAbilityScoreRoller;
+import com.schoolproject.dnd.service.TableAbilityScoreRoller;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ability score rollers: the original array-and-sort roll,
+ * the allocation-free dice roller and the precomputed table roller.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AbilityScoreRollerBenchmark {
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final AbilityScoreRoller dice = new DiceAbilityScoreRoller();
+    private final AbilityScoreRoller table = new TableAbilityScoreRoller();
+
+    @Benchmark
+    public int sortedArray() {
+        int[] rolls = new int[4];
+        for (int i = 0; i < 4; i++) {
+            rolls[i] = random.nextInt(6) + 1;
+        }
+        Arrays.sort(rolls);
+        return rolls[1] + rolls[2] + rolls[3];
+    }
+
+    @Benchmark
+    public int dice() {
+        return dice.roll(random);
+    }
+
+    @Benchmark
+    public int table() {
+        return table.roll(random);
+    }
+}
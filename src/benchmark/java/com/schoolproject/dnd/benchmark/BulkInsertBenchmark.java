@@ -0,0 +1,62 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.DndCharacterGeneratorApplication;
+import com.schoolproject.dnd.service.CharacterBulkService;
+import com.schoolproject.dnd.service.DndCharacterService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares insert throughput (rows per second) of saving generated characters
+ * one by one, as POST /api/characters/generate does, against the chunked
+ * batch path behind POST /api/characters/generate?count=N.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private DndCharacterService characterService;
+    private CharacterBulkService bulkService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(DndCharacterGeneratorApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:bulkbench;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        characterService = context.getBean(DndCharacterService.class);
+        bulkService = context.getBean(CharacterBulkService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void oneByOne() {
+        for (int i = 0; i < ROWS; i++) {
+            characterService.saveCharacter(characterService.generateRandomCharacter());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void batched() {
+        bulkService.generateAndSave(ROWS);
+    }
+}
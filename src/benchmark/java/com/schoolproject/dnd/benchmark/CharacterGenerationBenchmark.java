@@ -0,0 +1,115 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.MarkovNameGenerator;
+import com.schoolproject.dnd.service.NameAutocompleteIndex;
+import com.schoolproject.dnd.service.NameUniquenessFilter;
+import com.schoolproject.dnd.service.TemplateBackgroundGenerator;
+import com.schoolproject.dnd.service.TestCharacterServices;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating one random character, and of its name and background text alone,
+ * with 100,000 names already saved. Also measures checking a name against the name filter.
+ * The background is also rendered with the String.format version it replaced, and into
+ * a reused buffer as bulk generation does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharacterGenerationBenchmark {
+
+    private static final int SAVED_NAMES = 100_000;
+
+    // Generation only needs the roller, the name and background generators and the name filter;
+    // after MAX_NAME_ATTEMPTS filter hits in a row the stub repository reports the name as free
+    private final TemplateBackgroundGenerator backgroundGenerator = new TemplateBackgroundGenerator();
+    private final MarkovNameGenerator nameGenerator = new MarkovNameGenerator();
+    private final NameUniquenessFilter nameFilter = new NameUniquenessFilter(1_000_000, 0.01);
+    private final DndCharacterService characterService =
+            TestCharacterServices.generationOnly(backgroundGenerator, nameGenerator, nameFilter,
+                    new NameAutocompleteIndex());
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final StringBuilder buffer = new StringBuilder();
+    private DndCharacter character;
+    private int elfNames;
+
+    @Setup
+    public void createCharacter() {
+        SplittableRandom saved = new SplittableRandom(1);
+        for (int i = 0; i < SAVED_NAMES; i++) {
+            nameFilter.add(characterService.generateRandomCharacter(saved));
+        }
+        character = characterService.generateRandomCharacter(7L);
+        elfNames = nameGenerator.model("Elf");
+    }
+
+    @Benchmark
+    public DndCharacter threadLocalRandom() {
+        return characterService.generateRandomCharacter();
+    }
+
+    @Benchmark
+    public DndCharacter splittableRandom() {
+        return characterService.generateRandomCharacter(random);
+    }
+
+    @Benchmark
+    public String background() {
+        return backgroundGenerator.generate(character, random);
+    }
+
+    @Benchmark
+    public String name() {
+        buffer.setLength(0);
+        nameGenerator.appendName(elfNames, random, buffer);
+        return buffer.toString();
+    }
+
+    @Benchmark
+    public boolean nameFilterCheck() {
+        return nameFilter.mightContain(character.getName());
+    }
+
+    @Benchmark
+    public String backgroundReusedBuffer() {
+        buffer.setLength(0);
+        backgroundGenerator.appendBackground(character, random, buffer);
+        return buffer.toString();
+    }
+
+    @Benchmark
+    public String backgroundStringFormat() {
+        return formatBackground(character, random);
+    }
+
+    @Benchmark
+    public DndCharacter splittableRandomReusedBuffer() {
+        return characterService.generateRandomCharacter(random, buffer);
+    }
+
+    /**
+     * The background generator before templates: arrays built and a format string parsed per call.
+     */
+    private static String formatBackground(DndCharacter character, SplittableRandom random) {
+        String[] origins = {"a small village", "a bustling city", "a nomadic tribe", "a secluded monastery", "a noble house"};
+        String[] motivations = {"seeks glory", "searches for lost family", "wants revenge", "desires knowledge", "pursues justice"};
+
+        String origin = origins[random.nextInt(origins.length)];
+        String motivation = motivations[random.nextInt(motivations.length)];
+
+        return String.format("%s is a %s %s from %s who %s.",
+                character.getName(),
+                character.getRace(),
+                character.getCharacterClass(),
+                origin,
+                motivation);
+    }
+}
@@ -0,0 +1,62 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the six ability modifier getters and of the derived combat stats,
+ * called for every character the details page renders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharacterModifierBenchmark {
+
+    private final DndCharacter character = new DndCharacter("Shadowblade", "Elf", "Rogue");
+
+    @Setup
+    public void setLevel() {
+        character.setLevel(7);
+    }
+
+    @Setup
+    public void setScores() {
+        // One score on each side of 10, including odd negatives where rounding matters
+        character.setStrength(8);
+        character.setDexterity(17);
+        character.setConstitution(10);
+        character.setIntelligence(3);
+        character.setWisdom(14);
+        character.setCharisma(20);
+    }
+
+    @Benchmark
+    public void allModifiers(Blackhole blackhole) {
+        blackhole.consume(character.getStrengthModifier());
+        blackhole.consume(character.getDexterityModifier());
+        blackhole.consume(character.getConstitutionModifier());
+        blackhole.consume(character.getIntelligenceModifier());
+        blackhole.consume(character.getWisdomModifier());
+        blackhole.consume(character.getCharismaModifier());
+    }
+
+    @Benchmark
+    public void combatStats(Blackhole blackhole) {
+        blackhole.consume(character.getProficiencyBonus());
+        blackhole.consume(character.getMaxHitPoints());
+        blackhole.consume(character.getInitiative());
+        blackhole.consume(character.getPassivePerception());
+        blackhole.consume(character.getStrengthSave());
+        blackhole.consume(character.getDexteritySave());
+        blackhole.consume(character.getConstitutionSave());
+        blackhole.consume(character.getIntelligenceSave());
+        blackhole.consume(character.getWisdomSave());
+        blackhole.consume(character.getCharismaSave());
+    }
+}
@@ -0,0 +1,71 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.TestCharacterServices;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one character and of character lists, using the
+ * same ObjectMapper defaults Spring MVC applies to REST responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharacterSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final DndCharacter character = generate(1).get(0);
+
+    /**
+     * A generated roster of the given size.
+     */
+    @State(Scope.Benchmark)
+    public static class Roster {
+
+        @Param({"100", "10000"})
+        public int listSize;
+
+        List<DndCharacter> characters;
+
+        @Setup
+        public void createCharacters() {
+            characters = generate(listSize);
+        }
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(character);
+    }
+
+    @Benchmark
+    public byte[] list(Roster roster) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roster.characters);
+    }
+
+    private static List<DndCharacter> generate(int count) {
+        DndCharacterService characterService =
+                TestCharacterServices.generationOnly();
+        SplittableRandom random = new SplittableRandom(42);
+        List<DndCharacter> characters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DndCharacter generated = characterService.generateRandomCharacter(random);
+            generated.setId((long) i + 1);
+            generated.setVersion(0L);
+            characters.add(generated);
+        }
+        return characters;
+    }
+}
@@ -0,0 +1,69 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ScanResult;
+import com.schoolproject.dnd.service.ColumnarRoster;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.TestCharacterServices;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Predicate scans over the columnar roster, with the Vector API and with scalar loops.
+ * The roster only keeps primitive columns, so millions of rows fit in a small heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarScanBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean vectorized;
+
+    private ColumnarRoster roster;
+    private CharacterCriteria abilities;
+    private CharacterCriteria raceClassLevel;
+
+    @Setup
+    public void fillRoster() {
+        DndCharacterService generator = TestCharacterServices.generationOnly();
+        SplittableRandom random = new SplittableRandom(42);
+        roster = new ColumnarRoster(vectorized);
+        for (long id = 1; id <= rows; id++) {
+            DndCharacter character = generator.generateRandomCharacter(random);
+            character.setId(id);
+            roster.add(character);
+        }
+
+        // STR >= 15 and DEX >= 14 and level >= 5
+        abilities = new CharacterCriteria();
+        abilities.setMinStrength(15);
+        abilities.setMinDexterity(14);
+        abilities.setMinLevel(5);
+
+        raceClassLevel = new CharacterCriteria();
+        raceClassLevel.setRace("Elf");
+        raceClassLevel.setCharacterClass("Wizard");
+        raceClassLevel.setMinLevel(3);
+        raceClassLevel.setMaxLevel(8);
+    }
+
+    @Benchmark
+    public ScanResult abilityMinimums() {
+        return roster.scan(abilities, DndCharacterService.DEFAULT_SCAN_IDS);
+    }
+
+    @Benchmark
+    public ScanResult raceClassLevelRange() {
+        return roster.scan(raceClassLevel, DndCharacterService.DEFAULT_SCAN_IDS);
+    }
+}
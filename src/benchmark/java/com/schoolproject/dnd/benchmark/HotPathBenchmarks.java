@@ -0,0 +1,32 @@
+package com.schoolproject.dnd.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the generator, model and serialization benchmarks with the GC profiler,
+ * so every result also reports bytes allocated per operation (gc.alloc.rate.norm).
+ * Results are written to target/jmh-hot-paths.json to compare against a previous run.
+ *
+ * Run with:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.schoolproject.dnd.benchmark.HotPathBenchmarks
+ */
+public class HotPathBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CharacterGenerationBenchmark.class.getSimpleName())
+                .include(AbilityScoreRollerBenchmark.class.getSimpleName())
+                .include(CharacterModifierBenchmark.class.getSimpleName())
+                .include(CharacterSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-hot-paths.json")
+                .build();
+        new Runner(options).run();
+    }
+}
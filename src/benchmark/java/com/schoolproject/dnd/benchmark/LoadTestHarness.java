@@ -0,0 +1,366 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.DndCharacterGeneratorApplication;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.repository.DndCharacterRepository;
+import com.schoolproject.dnd.service.CharacterBulkService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * HTTP load test for the REST API. Boots the application on a random port
+ * against in-memory H2, saves a roster of characters and drives a weighted
+ * mix of reads by id, name searches, list pages and generated characters.
+ *
+ * With a target rate the test is open-loop: request i is due at start + i / rate,
+ * whether or not earlier requests have returned. Response time is measured from
+ * that due time, so a stalled server is charged for every request it delayed
+ * (coordinated-omission correction); service time is measured from the actual
+ * send. Without a rate every client sends its next request when the previous
+ * one returns, and both times are the same.
+ *
+ * Results go to HdrHistogram histograms. The report prints throughput and
+ * p50/p99/p99.9 per operation, appends one JSON line per run to
+ * target/load-test/results.jsonl and writes .hgrm percentile files that
+ * HdrHistogram's plotter can overlay across commits.
+ *
+ * Run with:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.schoolproject.dnd.benchmark.LoadTestHarness
+ * -Dbenchmark.args="clients=64 rate=500 seconds=30 mix=byId:60,search:15,list:20,generate:5"
+ * Arguments starting with -- are passed on to the application, e.g. --spring.profiles.active=virtual-threads.
+ */
+public class LoadTestHarness {
+
+    static final Path RESULTS_DIRECTORY = Path.of("target", "load-test");
+
+    // Highest latency the histograms can hold, in microseconds
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    public static void main(String[] args) throws Exception {
+        int clients = intArg(args, "clients", 64);
+        int rate = intArg(args, "rate", 500);
+        int seconds = intArg(args, "seconds", 30);
+        int warmupSeconds = intArg(args, "warmup", 10);
+        int roster = intArg(args, "roster", 10_000);
+        String mix = stringArg(args, "mix", "byId:60,search:15,list:20,generate:5");
+        String label = stringArg(args, "label", gitRevision());
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            }
+        }
+
+        ConfigurableApplicationContext context = startApplication("loadtest", applicationArgs, List.of());
+        try {
+            List<Operation> operations = operations(context, roster, mix);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            int port = port(context);
+            System.out.printf("label=%s clients=%d rate=%s seconds=%d roster=%d mix=%s cpus=%d%n",
+                    label, clients, rate > 0 ? rate + "/s" : "closed-loop", seconds, roster, mix,
+                    Runtime.getRuntime().availableProcessors());
+            run(client, port, operations, clients, rate, warmupSeconds);
+            LoadReport report = run(client, port, operations, clients, rate, seconds);
+            report.print(System.out);
+            report.save(label);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Boot the application on a random port with its own in-memory database.
+     */
+    static ConfigurableApplicationContext startApplication(
+            String databaseName, List<String> extraArgs,
+            List<ApplicationContextInitializer<ConfigurableApplicationContext>> initializers) {
+        // DevTools would restart the application in a new class loader and run main again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(DndCharacterGeneratorApplication.class);
+        initializers.forEach(application::addInitializers);
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.thymeleaf.cache=true",
+                "--logging.level.root=WARN"));
+        args.addAll(extraArgs);
+        return application.run(args.toArray(new String[0]));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Save a roster of generated characters and build the weighted operation mix against it.
+     */
+    private static List<Operation> operations(ConfigurableApplicationContext context, int roster, String mix) {
+        context.getBean(CharacterBulkService.class).generateAndSave(roster, 42L);
+        List<DndCharacter> saved = context.getBean(DndCharacterRepository.class).findAll();
+        long[] ids = saved.stream().mapToLong(DndCharacter::getId).toArray();
+        // Name prefixes of the roster, so searches hit real rows and cost the server nothing to pick
+        String[] searchTerms = saved.stream()
+                .map(c -> c.getName().substring(0, Math.min(4, c.getName().length())))
+                .distinct()
+                .map(term -> URLEncoder.encode(term, StandardCharsets.UTF_8))
+                .toArray(String[]::new);
+
+        Map<String, Operation> available = new LinkedHashMap<>();
+        available.put("byId", new Operation("byId", "GET",
+                random -> "/api/characters/" + ids[random.nextInt(ids.length)]));
+        available.put("search", new Operation("search", "GET", random -> "/api/characters/search?view=summary&name="
+                + searchTerms[random.nextInt(searchTerms.length)]));
+        available.put("list", new Operation("list", "GET",
+                random -> "/api/characters?view=summary&limit=50&after=" + ids[random.nextInt(ids.length)]));
+        available.put("generate", new Operation("generate", "POST", random -> "/api/characters/generate"));
+
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            Operation operation = available.get(parts[0]);
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation " + parts[0] + ", expected one of "
+                        + available.keySet());
+            }
+            operations.add(operation.withWeight(Integer.parseInt(parts[1])));
+        }
+        return operations;
+    }
+
+    /**
+     * Drive the operations for the given time. With rate > 0 requests follow a fixed
+     * schedule shared by all clients; with rate 0 each client sends back to back.
+     */
+    static LoadReport run(HttpClient client, int port, List<Operation> operations,
+                          int clients, int rate, int seconds) throws InterruptedException {
+        int totalWeight = operations.stream().mapToInt(o -> o.weight).sum();
+        Map<String, Histogram> responseTimes = new LinkedHashMap<>();
+        Map<String, Histogram> serviceTimes = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            responseTimes.put(operation.name, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            serviceTimes.put(operation.name, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+        }
+        AtomicLong errors = new AtomicLong();
+        AtomicLong nextSlot = new AtomicLong();
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+                    while (true) {
+                        long due = rate > 0 ? start + nextSlot.getAndIncrement() * intervalNanos : System.nanoTime();
+                        if (due >= end) {
+                            return;
+                        }
+                        long wait = due - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        Operation operation = pick(operations, totalWeight, random);
+                        HttpRequest request = HttpRequest
+                                .newBuilder(URI.create("http://localhost:" + port + operation.path.apply(random)))
+                                .method(operation.method, HttpRequest.BodyPublishers.noBody())
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long sent = System.nanoTime();
+                        if (!send(client, request)) {
+                            errors.incrementAndGet();
+                        }
+                        long done = System.nanoTime();
+                        responseTimes.get(operation.name).recordValue(micros(done - due));
+                        serviceTimes.get(operation.name).recordValue(micros(done - sent));
+                    }
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new LoadReport(clients, rate, elapsedSeconds, errors.get(), responseTimes, serviceTimes);
+    }
+
+    private static Operation pick(List<Operation> operations, int totalWeight, SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private static boolean send(HttpClient client, HttpRequest request) {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(MAX_LATENCY_MICROS, Math.max(1, nanos / 1000));
+    }
+
+    static int intArg(String[] args, String name, int defaultValue) {
+        String value = stringArg(args, name, null);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    static String stringArg(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static String gitRevision() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            String revision = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 && !revision.isEmpty() ? revision : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    /**
+     * One kind of request in the mix; weight is its share of all requests.
+     */
+    static class Operation {
+        final String name;
+        final String method;
+        final Function<SplittableRandom, String> path;
+        final int weight;
+
+        Operation(String name, String method, Function<SplittableRandom, String> path) {
+            this(name, method, path, 1);
+        }
+
+        private Operation(String name, String method, Function<SplittableRandom, String> path, int weight) {
+            this.name = name;
+            this.method = method;
+            this.path = path;
+            this.weight = weight;
+        }
+
+        Operation withWeight(int weight) {
+            return new Operation(name, method, path, weight);
+        }
+    }
+
+    /**
+     * Latency histograms (in microseconds) and throughput of one measured run.
+     */
+    static class LoadReport {
+        final int clients;
+        final int rate;
+        final double elapsedSeconds;
+        final long errors;
+        final Map<String, Histogram> responseTimes;
+        final Map<String, Histogram> serviceTimes;
+
+        LoadReport(int clients, int rate, double elapsedSeconds, long errors,
+                   Map<String, Histogram> responseTimes, Map<String, Histogram> serviceTimes) {
+            this.clients = clients;
+            this.rate = rate;
+            this.elapsedSeconds = elapsedSeconds;
+            this.errors = errors;
+            this.responseTimes = responseTimes;
+            this.serviceTimes = serviceTimes;
+        }
+
+        long totalCount() {
+            return responseTimes.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        double throughput() {
+            return totalCount() / elapsedSeconds;
+        }
+
+        void print(PrintStream out) {
+            out.printf("throughput=%.0f req/s requests=%d errors=%d%n", throughput(), totalCount(), errors);
+            out.printf("%-10s %8s %10s %10s %10s %10s %14s%n",
+                    "operation", "count", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "service p99 ms");
+            for (Map.Entry<String, Histogram> entry : responseTimes.entrySet()) {
+                Histogram h = entry.getValue();
+                out.printf("%-10s %8d %10.2f %10.2f %10.2f %10.2f %14.2f%n", entry.getKey(), h.getTotalCount(),
+                        millis(h, 50), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0,
+                        millis(serviceTimes.get(entry.getKey()), 99));
+            }
+        }
+
+        /**
+         * Append a JSON summary line and write one .hgrm percentile file per operation.
+         */
+        void save(String label) throws IOException {
+            Files.createDirectories(RESULTS_DIRECTORY);
+            StringBuilder json = new StringBuilder();
+            json.append(String.format(Locale.ROOT, "{\"label\":\"%s\",\"time\":\"%s\",\"clients\":%d,\"rate\":%d,"
+                            + "\"throughput\":%.1f,\"errors\":%d,\"operations\":{",
+                    label, Instant.now(), clients, rate, throughput(), errors));
+            String separator = "";
+            for (Map.Entry<String, Histogram> entry : responseTimes.entrySet()) {
+                Histogram h = entry.getValue();
+                json.append(String.format(Locale.ROOT, "%s\"%s\":{\"count\":%d,\"p50\":%.3f,\"p99\":%.3f,\"p999\":%.3f,"
+                                + "\"max\":%.3f,\"serviceP99\":%.3f}",
+                        separator, entry.getKey(), h.getTotalCount(), millis(h, 50), millis(h, 99),
+                        millis(h, 99.9), h.getMaxValue() / 1000.0, millis(serviceTimes.get(entry.getKey()), 99)));
+                separator = ",";
+                try (PrintStream out = new PrintStream(Files.newOutputStream(
+                        RESULTS_DIRECTORY.resolve(label + "-" + entry.getKey() + ".hgrm")))) {
+                    h.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            json.append("}}\n");
+            Files.writeString(RESULTS_DIRECTORY.resolve("results.jsonl"), json,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.MetricsConfiguration;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.NameSuggestion;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.MarkovNameGenerator;
+import com.schoolproject.dnd.service.NameAutocompleteIndex;
+import com.schoolproject.dnd.service.NameUniquenessFilter;
+import com.schoolproject.dnd.service.TemplateBackgroundGenerator;
+import com.schoolproject.dnd.service.TestCharacterServices;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the @Timed instrumentation on the hottest service calls: each benchmark runs
+ * against the plain service and against one proxied with the application's timing advisor
+ * and a Prometheus registry, with and without histogram buckets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    // timed-histogram also records the percentile histogram buckets enabled in application.properties
+    @Param({"plain", "timed", "timed-histogram"})
+    public String instrumentation;
+
+    private DndCharacterService characterService;
+
+    @Setup
+    public void createService() {
+        NameAutocompleteIndex autocompleteIndex = new NameAutocompleteIndex();
+        DndCharacterService plain = TestCharacterServices.generationOnly(new TemplateBackgroundGenerator(),
+                new MarkovNameGenerator(), new NameUniquenessFilter(1000, 0.01), autocompleteIndex);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= 10_000; id++) {
+            DndCharacter character = plain.generateRandomCharacter(random);
+            character.setId(id);
+            autocompleteIndex.add(character);
+        }
+
+        if (instrumentation.equals("plain")) {
+            characterService = plain;
+        } else {
+            PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            if (instrumentation.equals("timed-histogram")) {
+                registry.config().meterFilter(new MeterFilter() {
+                    @Override
+                    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                        return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+                    }
+                });
+            }
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerSingleton("registry", registry);
+            ProxyFactory proxyFactory = new ProxyFactory(plain);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvisor(MetricsConfiguration.timedAdvisor(beanFactory.getBeanProvider(MeterRegistry.class)));
+            characterService = (DndCharacterService) proxyFactory.getProxy();
+        }
+    }
+
+    @Benchmark
+    public DndCharacter generate() {
+        return characterService.generateRandomCharacter();
+    }
+
+    @Benchmark
+    public List<NameSuggestion> suggestNames() {
+        return characterService.suggestNames("Storm", DndCharacterService.DEFAULT_SUGGESTIONS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.service.NameTrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trigram index lookups over one million names.
+ * Names are random letter strings, so most queries are selective.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class NameSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"kor", "dranel", "ithwal"})
+    public String query;
+
+    private final NameTrigramIndex index = new NameTrigramIndex();
+
+    @Setup(Level.Trial)
+    public void fillIndex() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= ROWS; id++) {
+            char[] name = new char[6 + random.nextInt(8)];
+            for (int i = 0; i < name.length; i++) {
+                name[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            }
+            DndCharacter character = new DndCharacter(new String(name), "Human", "Fighter");
+            character.setId(id);
+            index.add(character);
+        }
+    }
+
+    @Benchmark
+    public long[] search() {
+        return index.search(query);
+    }
+}
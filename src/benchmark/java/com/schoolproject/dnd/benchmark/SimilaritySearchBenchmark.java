@@ -0,0 +1,78 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.service.AbilitySimilarityIndex;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.TestCharacterServices;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-neighbour searches over ability scores: typical characters, characters
+ * of one class, and outliers whose neighbourhood in the grid is almost empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilaritySearchBenchmark {
+
+    private static final int ANCHORS = 1024;
+
+    @Param({"100000", "1000000"})
+    public int characters;
+
+    private AbilitySimilarityIndex index;
+    private DndCharacter[] anchors;
+    private DndCharacter outlier;
+    private int next;
+
+    @Setup
+    public void fillIndex() {
+        DndCharacterService generator = TestCharacterServices.generationOnly();
+        SplittableRandom random = new SplittableRandom(42);
+        index = new AbilitySimilarityIndex();
+        anchors = new DndCharacter[ANCHORS];
+        for (long id = 1; id <= characters; id++) {
+            DndCharacter character = generator.generateRandomCharacter(random);
+            character.setId(id);
+            index.add(character);
+            if (id <= ANCHORS) {
+                anchors[(int) id - 1] = character;
+            }
+        }
+
+        outlier = new DndCharacter("Outlier", "Human", "Fighter");
+        outlier.setStrength(20);
+        outlier.setDexterity(3);
+        outlier.setConstitution(20);
+        outlier.setIntelligence(3);
+        outlier.setWisdom(20);
+        outlier.setCharisma(3);
+    }
+
+    @Benchmark
+    public List<AbilitySimilarityIndex.Neighbor> nearest10() {
+        return index.nearest(nextAnchor(), 10, null);
+    }
+
+    @Benchmark
+    public List<AbilitySimilarityIndex.Neighbor> nearest10OfClass() {
+        return index.nearest(nextAnchor(), 10, "Wizard");
+    }
+
+    @Benchmark
+    public List<AbilitySimilarityIndex.Neighbor> nearest10Outlier() {
+        return index.nearest(outlier, 10, null);
+    }
+
+    private DndCharacter nextAnchor() {
+        next = (next + 1) & (ANCHORS - 1);
+        return anchors[next];
+    }
+}
@@ -0,0 +1,172 @@
+package com.schoolproject.dnd.benchmark;
+
+import com.schoolproject.dnd.benchmark.LoadTestHarness.LoadReport;
+import com.schoolproject.dnd.benchmark.LoadTestHarness.Operation;
+import com.schoolproject.dnd.service.CharacterBulkService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpClient;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.schoolproject.dnd.benchmark.LoadTestHarness.intArg;
+
+/**
+ * Load benchmark comparing the default platform-thread Tomcat with the
+ * virtual-threads profile while the database is slow.
+ * Every query is delayed by a fixed time, and many clients call a database
+ * endpoint (the first list page) and a memory-only endpoint (the options)
+ * in turn. Both modes use the same connection pool size, so only the request
+ * threading differs. Reports throughput and latency percentiles per mode, and in
+ * virtual-thread mode the jdk.VirtualThreadPinned events recorded during the measurement:
+ * a virtual thread that blocks while pinned (inside synchronized code, or a native frame)
+ * holds on to its carrier thread, which is what would erase the benefit of the profile.
+ *
+ * Run with:
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.schoolproject.dnd.benchmark.ThreadModeLoadBenchmark
+ * -Dbenchmark.args="clients=400 seconds=20 dbDelayMs=20 poolSize=50"
+ */
+public class ThreadModeLoadBenchmark {
+
+    private static final List<Operation> OPERATIONS = List.of(
+            new Operation("list", "GET", random -> "/api/characters?limit=20"),
+            new Operation("options", "GET", random -> "/api/characters/options"));
+
+    public static void main(String[] args) throws Exception {
+        int clients = intArg(args, "clients", 400);
+        int seconds = intArg(args, "seconds", 20);
+        int dbDelayMs = intArg(args, "dbDelayMs", 20);
+        int poolSize = intArg(args, "poolSize", 50);
+
+        System.out.printf("clients=%d seconds=%d dbDelayMs=%d poolSize=%d cpus=%d%n",
+                clients, seconds, dbDelayMs, poolSize, Runtime.getRuntime().availableProcessors());
+        for (String mode : new String[]{"platform", "virtual-threads"}) {
+            List<String> applicationArgs = new ArrayList<>(List.of(
+                    "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                    "--spring.datasource.hikari.connection-timeout=5000"));
+            if (mode.equals("virtual-threads")) {
+                applicationArgs.add("--spring.profiles.active=virtual-threads");
+            }
+            ConfigurableApplicationContext context = LoadTestHarness.startApplication("loadbench-" + mode,
+                    applicationArgs,
+                    List.of(c -> c.getBeanFactory().addBeanPostProcessor(new SlowDatabase(dbDelayMs))));
+            try {
+                context.getBean(CharacterBulkService.class).generateAndSave(1000);
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                int port = LoadTestHarness.port(context);
+                // Warm up, then measure; closed loop, each client sends back to back
+                LoadTestHarness.run(client, port, OPERATIONS, clients, 0, Math.max(2, seconds / 4));
+                PinningRecorder pinning = mode.equals("virtual-threads") ? PinningRecorder.start() : null;
+                LoadReport report = LoadTestHarness.run(client, port, OPERATIONS, clients, 0, seconds);
+                System.out.println(mode);
+                report.print(System.out);
+                if (pinning != null) {
+                    pinning.stopAndPrint(System.out);
+                }
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Records jdk.VirtualThreadPinned events in this JVM, where the application runs, and
+     * counts them by the first stack frame outside the JDK, i.e. the code that pinned the thread.
+     */
+    private static class PinningRecorder {
+        private final RecordingStream stream = new RecordingStream();
+        private final Map<String, Integer> byFrame = new ConcurrentHashMap<>();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder pinnedNanos = new LongAdder();
+
+        static PinningRecorder start() {
+            PinningRecorder recorder = new PinningRecorder();
+            // Every pinned block, not only those over the default 20 ms threshold
+            recorder.stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recorder.stream.onEvent("jdk.VirtualThreadPinned", recorder::record);
+            recorder.stream.startAsync();
+            return recorder;
+        }
+
+        private void record(RecordedEvent event) {
+            events.increment();
+            pinnedNanos.add(event.getDuration().toNanos());
+            String frame = "(no stack trace)";
+            if (event.getStackTrace() != null) {
+                frame = event.getStackTrace().getFrames().stream()
+                        .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName())
+                        .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.")
+                                && !name.startsWith("sun."))
+                        .findFirst()
+                        .orElse("(JDK only)");
+            }
+            byFrame.merge(frame, 1, Integer::sum);
+        }
+
+        void stopAndPrint(PrintStream out) {
+            // stop() delivers the events still buffered; close() alone would drop them
+            stream.stop();
+            stream.close();
+            out.printf("  pinned: %d events, %.1f ms in total%n", events.sum(), pinnedNanos.sum() / 1e6);
+            byFrame.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(5)
+                    .forEach(e -> out.printf("    %6d  %s%n", e.getValue(), e.getKey()));
+        }
+    }
+
+    /**
+     * Wraps the DataSource so every query first sleeps, simulating a slow database.
+     * The connection stays checked out during the delay, as with a real slow query.
+     */
+    private static class SlowDatabase implements BeanPostProcessor {
+        private final long delayMs;
+
+        SlowDatabase(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, dataSource);
+            }
+            return bean;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute") && target instanceof PreparedStatement) {
+                    Thread.sleep(delayMs);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Connection connection) {
+                        return proxy(Connection.class, connection);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return proxy(PreparedStatement.class, statement);
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.schoolproject.dnd;
+
+import com.schoolproject.dnd.service.CharacterSimulationEngine;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.NameUniquenessFilter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Application metrics on top of what Spring Boot instruments by itself
+ * (HTTP requests, repository invocations, Hikari pool and JVM).
+ * Methods annotated with @Timed, or in a class annotated with it, are timed by
+ * the TimedMethodInterceptor, and the number of generated characters is published
+ * as a counter, along with how the name uniqueness filter is doing.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor timedAdvisor(ObjectProvider<MeterRegistry> registry) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Timed.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Timed.class));
+        return new DefaultPointcutAdvisor(pointcut, new TimedMethodInterceptor(registry));
+    }
+
+    @Bean
+    public MeterBinder generatorMetrics(DndCharacterService characterService,
+                                        CharacterSimulationEngine simulationEngine,
+                                        NameUniquenessFilter nameFilter) {
+        return registry -> {
+            FunctionCounter.builder("dnd.characters.generated", characterService,
+                            DndCharacterService::getGeneratedCount)
+                    .description("Characters generated, including bulk generation")
+                    .register(registry);
+            FunctionCounter.builder("dnd.simulation.characters", simulationEngine,
+                            CharacterSimulationEngine::getSimulatedCount)
+                    .description("Characters generated in memory by simulations")
+                    .register(registry);
+            FunctionCounter.builder("dnd.names.redrawn", characterService,
+                            DndCharacterService::getRedrawnNameCount)
+                    .description("Generated names drawn again because the name filter had seen them")
+                    .register(registry);
+            FunctionCounter.builder("dnd.names.confirmed", characterService,
+                            DndCharacterService::getFalsePositiveNameCount)
+                    .description("Names the filter reported as taken, checked against the database")
+                    .tag("result", "false-positive")
+                    .register(registry);
+            FunctionCounter.builder("dnd.names.confirmed", characterService,
+                            DndCharacterService::getDuplicateNameCount)
+                    .description("Names the filter reported as taken, checked against the database")
+                    .tag("result", "duplicate")
+                    .register(registry);
+            Gauge.builder("dnd.names.filter.false.positive.rate", nameFilter,
+                            NameUniquenessFilter::getEstimatedFalsePositiveRate)
+                    .description("Estimated chance that an unused name is reported as taken")
+                    .register(registry);
+            Gauge.builder("dnd.names.filter.memory", nameFilter, NameUniquenessFilter::getMemoryBytes)
+                    .description("Heap used by the name filter counters")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("dnd.names.filter.names", nameFilter, NameUniquenessFilter::getNameCount)
+                    .description("Names of saved characters in the name filter")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.schoolproject.dnd;
+
+import com.schoolproject.dnd.controller.ServerTimingInterceptor;
+import com.schoolproject.dnd.service.RequestTiming;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wiring for the Server-Timing header: registers the ServerTimingInterceptor and
+ * adds every repository call made while handling a request to its db phase.
+ * Enabled with dnd.server-timing.enabled=true.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "dnd.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfiguration implements WebMvcConfigurer {
+
+    private final ServerTimingInterceptor serverTimingInterceptor;
+
+    @Autowired
+    public ServerTimingConfiguration(ServerTimingInterceptor serverTimingInterceptor) {
+        this.serverTimingInterceptor = serverTimingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serverTimingInterceptor);
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation -> {
+                        RequestTiming timing = RequestTiming.current();
+                        if (timing != null) {
+                            timing.recordQuery(invocation.getDuration(TimeUnit.NANOSECONDS));
+                        }
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.schoolproject.dnd.controller;
+
+import com.schoolproject.dnd.model.CacheStatistics;
+import com.schoolproject.dnd.model.SlowRequest;
+import com.schoolproject.dnd.service.CharacterCache;
+import com.schoolproject.dnd.service.SlowRequestLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for operational endpoints.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminRestController {
+
+    private final CharacterCache characterCache;
+    private final SlowRequestLog slowRequestLog;
+
+    @Autowired
+    public AdminRestController(CharacterCache characterCache, SlowRequestLog slowRequestLog) {
+        this.characterCache = characterCache;
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    /**
+     * GET /api/admin/cache - Hit, miss and eviction counters of the character cache
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStatistics> getCacheStatistics() {
+        return ResponseEntity.ok(characterCache.getStatistics());
+    }
+
+    /**
+     * DELETE /api/admin/cache - Empty the character cache
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        characterCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/admin/slow-requests - Timing breakdown of the most recent slow requests, newest first.
+     * Requests are only timed with dnd.server-timing.enabled=true.
+     */
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequest>> getSlowRequests() {
+        return ResponseEntity.ok(slowRequestLog.getSamples());
+    }
+
+    /**
+     * DELETE /api/admin/slow-requests - Empty the slow request log
+     */
+    @DeleteMapping("/slow-requests")
+    public ResponseEntity<Void> clearSlowRequests() {
+        slowRequestLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
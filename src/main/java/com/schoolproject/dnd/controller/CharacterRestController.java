@@ -1,14 +1,31 @@
 package com.schoolproject.dnd.controller;
 
+import com.schoolproject.dnd.model.BulkGenerationResult;
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.CharacterPage;
 import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ImportReport;
+import com.schoolproject.dnd.model.NameSuggestion;
+import com.schoolproject.dnd.model.RosterStatistics;
+import com.schoolproject.dnd.model.ScanResult;
+import com.schoolproject.dnd.model.SimilarCharacter;
+import com.schoolproject.dnd.model.SimulationSummary;
+import com.schoolproject.dnd.service.CharacterBulkService;
+import com.schoolproject.dnd.service.CharacterSimulationEngine;
 import com.schoolproject.dnd.service.DndCharacterService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,28 +38,90 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class CharacterRestController {
 
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    // ?view=summary returns only the columns shown in lists (see CharacterSummary)
+    private static final String SUMMARY_VIEW = "summary";
+
+    // Options only change with a new release, so clients may reuse them for an hour
+    private static final CacheControl OPTIONS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
     private final DndCharacterService characterService;
+    private final CharacterBulkService bulkService;
+    private final CharacterSimulationEngine simulationEngine;
 
     @Autowired
-    public CharacterRestController(DndCharacterService characterService) {
+    public CharacterRestController(DndCharacterService characterService,
+                                   CharacterBulkService bulkService,
+                                   CharacterSimulationEngine simulationEngine) {
         this.characterService = characterService;
+        this.bulkService = bulkService;
+        this.simulationEngine = simulationEngine;
     }
 
     /**
-     * GET /api/characters - Get all characters
+     * GET /api/characters?after={id}&limit={n}&view=summary - Get one page of characters.
+     * Pass the returned nextCursor as "after" to fetch the following page.
      */
     @GetMapping
-    public ResponseEntity<List<DndCharacter>> getAllCharacters() {
-        List<DndCharacter> characters = characterService.getAllCharacters();
-        return ResponseEntity.ok(characters);
+    public ResponseEntity<CharacterPage<?>> getCharacters(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DndCharacterService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String view) {
+        if (SUMMARY_VIEW.equals(view)) {
+            return ResponseEntity.ok(characterService.getCharacterSummaryPage(after, limit));
+        }
+        return ResponseEntity.ok(characterService.getCharacterPage(after, limit));
     }
 
     /**
-     * GET /api/characters/{id} - Get character by ID
+     * GET /api/characters/query?race=&characterClass=&minLevel=&maxLevel=&minStrength=...&after=&limit=
+     * - Filter on any combination of race, class, level range and ability minimums, one page at a time
+     */
+    @GetMapping("/query")
+    public ResponseEntity<CharacterPage<DndCharacter>> queryCharacters(
+            CharacterCriteria criteria,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DndCharacterService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(characterService.queryCharacters(criteria, after, limit));
+    }
+
+    /**
+     * GET /api/characters/scan?race=&characterClass=&minLevel=&maxLevel=&minStrength=...&limit=
+     * - Count the characters matching the criteria with an in-memory column scan, with the first matching ids
+     */
+    @GetMapping("/scan")
+    public ResponseEntity<ScanResult> scanCharacters(
+            CharacterCriteria criteria,
+            @RequestParam(defaultValue = "" + DndCharacterService.DEFAULT_SCAN_IDS) int limit) {
+        return ResponseEntity.ok(characterService.scanCharacters(criteria, limit));
+    }
+
+    /**
+     * GET /api/characters/{id} - Get character by ID.
+     * The ETag is the character's version; a matching If-None-Match gets 304 Not Modified
+     * without the character being serialized, and usually without a database query.
      */
     @GetMapping("/{id}")
     public ResponseEntity<DndCharacter> getCharacterById(@PathVariable Long id) {
         return characterService.getCharacterById(id)
+                .map(character -> ResponseEntity.ok()
+                        .eTag(versionETag(character))
+                        .cacheControl(CacheControl.noCache())
+                        .body(character))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/characters/{id}/similar?k={k}&characterClass={class}
+     * - The k characters with the closest ability scores, nearest first
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarCharacter>> getSimilarCharacters(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "" + DndCharacterService.DEFAULT_SIMILAR) int k,
+            @RequestParam(required = false) String characterClass) {
+        return characterService.findSimilarCharacters(id, k, characterClass)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -66,7 +145,7 @@ public class CharacterRestController {
                 .map(existingCharacter -> {
                     character.setId(id);
                     DndCharacter updatedCharacter = characterService.saveCharacter(character);
-                    return ResponseEntity.ok(updatedCharacter);
+                    return ResponseEntity.ok().eTag(versionETag(updatedCharacter)).body(updatedCharacter);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -85,22 +164,94 @@ public class CharacterRestController {
     }
 
     /**
-     * POST /api/characters/generate - Generate a random character
+     * POST /api/characters/generate?seed={seed} - Generate a random character.
+     * The same seed always generates the same character, except that a name already taken
+     * by a saved character is replaced by another; every other value stays the same.
      */
     @PostMapping("/generate")
-    public ResponseEntity<DndCharacter> generateRandomCharacter() {
-        DndCharacter character = characterService.generateRandomCharacter();
+    public ResponseEntity<DndCharacter> generateRandomCharacter(@RequestParam(required = false) Long seed) {
+        DndCharacter character = seed != null
+                ? characterService.generateRandomCharacter(seed)
+                : characterService.generateRandomCharacter();
         DndCharacter savedCharacter = characterService.saveCharacter(character);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCharacter);
     }
 
     /**
-     * GET /api/characters/search?name={name} - Search characters by name
+     * POST /api/characters/generate?count={n}&seed={seed} - Generate and save many random characters
+     */
+    @PostMapping(value = "/generate", params = "count")
+    public ResponseEntity<BulkGenerationResult> generateRandomCharacters(@RequestParam int count,
+                                                                         @RequestParam(required = false) Long seed) {
+        if (count < 1 || count > bulkService.getMaxCount()) {
+            return ResponseEntity.badRequest().build();
+        }
+        BulkGenerationResult result = bulkService.generateAndSave(count, seed);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    /**
+     * GET /api/characters/simulate?count={n}&seed={seed} - Generate characters in memory
+     * and return their stat distribution. Nothing is saved.
+     */
+    @GetMapping("/simulate")
+    public ResponseEntity<SimulationSummary> simulate(@RequestParam long count,
+                                                      @RequestParam(required = false) Long seed) {
+        if (count < 1 || count > simulationEngine.getMaxCount()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(simulationEngine.simulate(count, seed));
+    }
+
+    /**
+     * GET /api/characters/export - Stream all characters as newline-delimited JSON
+     */
+    @GetMapping("/export")
+    public void exportCharacters(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        bulkService.exportAsNdjson(response.getOutputStream());
+    }
+
+    /**
+     * POST /api/characters/import?chunkSize={n} - Import newline-delimited JSON characters
+     */
+    @PostMapping(value = "/import", consumes = NDJSON_CONTENT_TYPE)
+    public ResponseEntity<ImportReport> importCharacters(InputStream body,
+                                                         @RequestParam(required = false) Integer chunkSize)
+            throws IOException {
+        ImportReport report = bulkService.importNdjson(body, chunkSize);
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * GET /api/characters/search?name={name}&view=summary - Search characters by name
      */
     @GetMapping("/search")
-    public ResponseEntity<List<DndCharacter>> searchCharacters(@RequestParam String name) {
-        List<DndCharacter> characters = characterService.searchByName(name);
-        return ResponseEntity.ok(characters);
+    public ResponseEntity<List<?>> searchCharacters(@RequestParam String name,
+                                                    @RequestParam(required = false) String view) {
+        if (SUMMARY_VIEW.equals(view)) {
+            return ResponseEntity.ok(characterService.searchSummariesByName(name));
+        }
+        return ResponseEntity.ok(characterService.searchByName(name));
+    }
+
+    /**
+     * GET /api/characters/autocomplete?prefix={prefix}&limit={n} - Suggest names by prefix, highest level first
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<NameSuggestion>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "" + DndCharacterService.DEFAULT_SUGGESTIONS) int limit) {
+        return ResponseEntity.ok(characterService.suggestNames(prefix, limit));
+    }
+
+    /**
+     * GET /api/characters/stats - Counts and ability distributions over all saved characters
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<RosterStatistics> getStatistics() {
+        return ResponseEntity.ok(characterService.getRosterStatistics());
     }
 
     /**
@@ -122,13 +273,37 @@ public class CharacterRestController {
     }
 
     /**
-     * GET /api/options - Get available races and classes
+     * GET /api/options - Get available races and classes.
+     * Answers 304 Not Modified when If-None-Match carries the current ETag.
      */
     @GetMapping("/options")
     public ResponseEntity<Map<String, List<String>>> getOptions() {
-        Map<String, List<String>> options = new HashMap<>();
-        options.put("races", characterService.getAvailableRaces());
-        options.put("classes", characterService.getAvailableClasses());
-        return ResponseEntity.ok(options);
+        return ResponseEntity.ok()
+                .eTag(characterService.getCharacterOptionsETag())
+                .cacheControl(OPTIONS_CACHE_CONTROL)
+                .body(characterService.getCharacterOptions());
+    }
+
+    /**
+     * GET /api/characters/options/in-use - Races and classes of the saved characters, from the roster counters
+     */
+    @GetMapping("/options/in-use")
+    public ResponseEntity<Map<String, List<String>>> getOptionsInUse() {
+        Map<String, List<String>> inUse = new LinkedHashMap<>();
+        inUse.put("races", characterService.findRacesInUse());
+        inUse.put("classes", characterService.findClassesInUse());
+        return ResponseEntity.ok(inUse);
+    }
+
+    /**
+     * An update carrying an outdated version lost a race with another update.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentUpdate() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private static String versionETag(DndCharacter character) {
+        return "\"" + character.getVersion() + "\"";
     }
 }
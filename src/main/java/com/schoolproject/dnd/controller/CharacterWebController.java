@@ -1,5 +1,7 @@
 package com.schoolproject.dnd.controller;
 
+import com.schoolproject.dnd.model.CharacterPage;
+import com.schoolproject.dnd.model.CharacterSummary;
 import com.schoolproject.dnd.model.DndCharacter;
 import com.schoolproject.dnd.service.DndCharacterService;
 import jakarta.validation.Valid;
@@ -26,11 +28,15 @@ public class CharacterWebController {
     }
 
     /**
-     * Home page - Display all characters
+     * Home page - Display one page of characters
      */
     @GetMapping
-    public String home(Model model) {
-        model.addAttribute("characters", characterService.getAllCharacters());
+    public String home(@RequestParam(required = false) Long after, Model model) {
+        CharacterPage<CharacterSummary> page =
+                characterService.getCharacterSummaryPage(after, DndCharacterService.DEFAULT_PAGE_SIZE);
+        model.addAttribute("characters", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("firstPage", after == null);
         model.addAttribute("pageTitle", "D&D Character Generator");
         return "index";
     }
@@ -0,0 +1,59 @@
+package com.schoolproject.dnd.controller;
+
+import com.schoolproject.dnd.service.RequestTiming;
+import com.schoolproject.dnd.service.SlowRequestLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Times each request and reports the breakdown in a Server-Timing response header.
+ * The response body is buffered until the request completes, so the header can still
+ * be set after rendering and serialization. The export is streamed and never timed.
+ * Requests slower than the threshold are recorded in the SlowRequestLog.
+ * Enabled with dnd.server-timing.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "dnd.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final SlowRequestLog slowRequestLog;
+
+    @Autowired
+    public ServerTimingFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start(request);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        long totalNanos = timing.finish();
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, timing.toHeaderValue());
+        }
+        if (slowRequestLog.isSlow(totalNanos)) {
+            slowRequestLog.record(timing.toSlowRequest(
+                    request.getMethod(), request.getRequestURI(), responseWrapper.getStatus()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+}
@@ -0,0 +1,68 @@
+package com.schoolproject.dnd.controller;
+
+import com.schoolproject.dnd.service.RequestTiming;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the render and serialize phases of a timed request.
+ * A response body is written right after beforeBodyWrite, and postHandle runs once
+ * it has been written, so the time in between is serialization. A view is rendered
+ * between postHandle and afterCompletion.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "dnd.server-timing.enabled", havingValue = "true")
+public class ServerTimingInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            RequestTiming timing = RequestTiming.of(servletRequest.getServletRequest());
+            if (timing != null) {
+                timing.startSerialize();
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        RequestTiming timing = RequestTiming.of(request);
+        if (timing != null) {
+            timing.endSerialize();
+            if (modelAndView != null) {
+                timing.startRender();
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        // Bodies written by exception handlers end here, without a postHandle
+        RequestTiming timing = RequestTiming.of(request);
+        if (timing != null) {
+            timing.endSerialize();
+            timing.endRender();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.schoolproject.dnd.model;
+
+/**
+ * Summary of a bulk character generation run.
+ */
+public class BulkGenerationResult {
+
+    private final int created;
+    private final long elapsedMillis;
+
+    public BulkGenerationResult(int created, long elapsedMillis) {
+        this.created = created;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? created * 1000L / elapsedMillis : created;
+    }
+}
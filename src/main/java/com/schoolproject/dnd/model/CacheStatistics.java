@@ -0,0 +1,61 @@
+package com.schoolproject.dnd.model;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Snapshot of the character cache counters since startup.
+ */
+public class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final long loadCount;
+    private final double averageLoadMillis;
+    private final long evictionCount;
+    private final long size;
+    private final long maxSize;
+
+    public CacheStatistics(CacheStats stats, long size, long maxSize) {
+        this.hitCount = stats.hitCount();
+        this.missCount = stats.missCount();
+        this.hitRate = stats.hitRate();
+        this.loadCount = stats.loadCount();
+        this.averageLoadMillis = stats.averageLoadPenalty() / 1_000_000.0;
+        this.evictionCount = stats.evictionCount();
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    public double getAverageLoadMillis() {
+        return averageLoadMillis;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,99 @@
+package com.schoolproject.dnd.model;
+
+/**
+ * Optional filters for a character query. Every null field is ignored;
+ * the rest are combined with AND.
+ */
+public class CharacterCriteria {
+
+    private String race;
+    private String characterClass;
+    private Integer minLevel;
+    private Integer maxLevel;
+    private Integer minStrength;
+    private Integer minDexterity;
+    private Integer minConstitution;
+    private Integer minIntelligence;
+    private Integer minWisdom;
+    private Integer minCharisma;
+
+    public String getRace() {
+        return race;
+    }
+
+    public void setRace(String race) {
+        this.race = race;
+    }
+
+    public String getCharacterClass() {
+        return characterClass;
+    }
+
+    public void setCharacterClass(String characterClass) {
+        this.characterClass = characterClass;
+    }
+
+    public Integer getMinLevel() {
+        return minLevel;
+    }
+
+    public void setMinLevel(Integer minLevel) {
+        this.minLevel = minLevel;
+    }
+
+    public Integer getMaxLevel() {
+        return maxLevel;
+    }
+
+    public void setMaxLevel(Integer maxLevel) {
+        this.maxLevel = maxLevel;
+    }
+
+    public Integer getMinStrength() {
+        return minStrength;
+    }
+
+    public void setMinStrength(Integer minStrength) {
+        this.minStrength = minStrength;
+    }
+
+    public Integer getMinDexterity() {
+        return minDexterity;
+    }
+
+    public void setMinDexterity(Integer minDexterity) {
+        this.minDexterity = minDexterity;
+    }
+
+    public Integer getMinConstitution() {
+        return minConstitution;
+    }
+
+    public void setMinConstitution(Integer minConstitution) {
+        this.minConstitution = minConstitution;
+    }
+
+    public Integer getMinIntelligence() {
+        return minIntelligence;
+    }
+
+    public void setMinIntelligence(Integer minIntelligence) {
+        this.minIntelligence = minIntelligence;
+    }
+
+    public Integer getMinWisdom() {
+        return minWisdom;
+    }
+
+    public void setMinWisdom(Integer minWisdom) {
+        this.minWisdom = minWisdom;
+    }
+
+    public Integer getMinCharisma() {
+        return minCharisma;
+    }
+
+    public void setMinCharisma(Integer minCharisma) {
+        this.minCharisma = minCharisma;
+    }
+}
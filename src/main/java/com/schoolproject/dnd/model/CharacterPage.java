@@ -0,0 +1,44 @@
+package com.schoolproject.dnd.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated character listing.
+ * The next cursor is the id of the last item on this page and is
+ * passed back as the "after" parameter to fetch the following page.
+ */
+public class CharacterPage<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public CharacterPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from a query that fetched up to limit + 1 rows.
+     * The extra row only tells us whether another page exists.
+     */
+    public static <T> CharacterPage<T> of(List<T> fetched, int limit, Function<T, Long> idOf) {
+        if (fetched.size() <= limit) {
+            return new CharacterPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CharacterPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.schoolproject.dnd.model;
+
+/**
+ * Read-only view of the character columns shown in lists.
+ * Queries returning it select only these columns and skip the background text;
+ * the rows are not managed entities, so they are never dirty-checked.
+ */
+public interface CharacterSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getRace();
+
+    String getCharacterClass();
+
+    int getLevel();
+
+    int getStrength();
+
+    int getDexterity();
+
+    int getConstitution();
+
+    int getIntelligence();
+
+    int getWisdom();
+
+    int getCharisma();
+}
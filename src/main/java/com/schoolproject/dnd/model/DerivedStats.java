@@ -0,0 +1,147 @@
+package com.schoolproject.dnd.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * D&D 5e values derived from a character's class, level and ability scores.
+ * Everything comes from tables built once: score to modifier, level to proficiency
+ * bonus, class to hit die and saving throw proficiencies, and bonus to its signed
+ * text ("+2", "-1"). Lookups do no floating point math and allocate nothing, so the
+ * getters can be called for every character on a page.
+ */
+public final class DerivedStats {
+
+    // Ability indexes, in the order of the character sheet
+    public static final int STRENGTH = 0;
+    public static final int DEXTERITY = 1;
+    public static final int CONSTITUTION = 2;
+    public static final int INTELLIGENCE = 3;
+    public static final int WISDOM = 4;
+    public static final int CHARISMA = 5;
+
+    // Ability names by index, as used for the properties and the statistics keys
+    public static final List<String> ABILITY_NAMES = List.of(
+            "strength", "dexterity", "constitution", "intelligence", "wisdom", "charisma");
+
+    // Ability scores and levels the tables cover; anything outside is computed directly
+    private static final int MAX_SCORE = 30;
+    private static final int MAX_LEVEL = 20;
+
+    // Signed bonuses with a shared string: ability modifiers plus proficiency bonus
+    private static final int MIN_BONUS = -10;
+    private static final int MAX_BONUS = 20;
+
+    // Hit die for a class this table does not know
+    private static final int DEFAULT_HIT_DIE = 8;
+
+    private static final int[] MODIFIERS = new int[MAX_SCORE + 1];
+    private static final int[] PROFICIENCY_BONUSES = new int[MAX_LEVEL + 1];
+    private static final String[] BONUS_TEXT = new String[MAX_BONUS - MIN_BONUS + 1];
+    private static final Map<String, ClassTable> CLASSES = Map.ofEntries(
+            Map.entry("Barbarian", new ClassTable(12, STRENGTH, CONSTITUTION)),
+            Map.entry("Bard", new ClassTable(8, DEXTERITY, CHARISMA)),
+            Map.entry("Cleric", new ClassTable(8, WISDOM, CHARISMA)),
+            Map.entry("Druid", new ClassTable(8, INTELLIGENCE, WISDOM)),
+            Map.entry("Fighter", new ClassTable(10, STRENGTH, CONSTITUTION)),
+            Map.entry("Monk", new ClassTable(8, STRENGTH, DEXTERITY)),
+            Map.entry("Paladin", new ClassTable(10, WISDOM, CHARISMA)),
+            Map.entry("Ranger", new ClassTable(10, STRENGTH, DEXTERITY)),
+            Map.entry("Rogue", new ClassTable(8, DEXTERITY, INTELLIGENCE)),
+            Map.entry("Sorcerer", new ClassTable(6, CONSTITUTION, CHARISMA)),
+            Map.entry("Warlock", new ClassTable(8, WISDOM, CHARISMA)),
+            Map.entry("Wizard", new ClassTable(6, INTELLIGENCE, WISDOM))
+    );
+
+    static {
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            MODIFIERS[score] = Math.floorDiv(score - 10, 2);
+        }
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            PROFICIENCY_BONUSES[level] = 2 + (level - 1) / 4;
+        }
+        for (int bonus = MIN_BONUS; bonus <= MAX_BONUS; bonus++) {
+            BONUS_TEXT[bonus - MIN_BONUS] = (bonus >= 0 ? "+" + bonus : String.valueOf(bonus)).intern();
+        }
+    }
+
+    private DerivedStats() {
+    }
+
+    /**
+     * Ability modifier: floor((score - 10) / 2).
+     */
+    public static int modifier(int score) {
+        return score >= 0 && score <= MAX_SCORE ? MODIFIERS[score] : Math.floorDiv(score - 10, 2);
+    }
+
+    /**
+     * Proficiency bonus: +2 at level 1, one more every four levels.
+     */
+    public static int proficiencyBonus(int level) {
+        int clamped = Math.max(1, Math.min(level, MAX_LEVEL));
+        return PROFICIENCY_BONUSES[clamped];
+    }
+
+    /**
+     * Bonus as shown on a character sheet, with an explicit sign. The strings are shared.
+     */
+    public static String format(int bonus) {
+        if (bonus >= MIN_BONUS && bonus <= MAX_BONUS) {
+            return BONUS_TEXT[bonus - MIN_BONUS];
+        }
+        return bonus >= 0 ? "+" + bonus : String.valueOf(bonus);
+    }
+
+    /**
+     * Sides of the class's hit die, e.g. 12 for a Barbarian.
+     */
+    public static int hitDie(String characterClass) {
+        ClassTable table = characterClass != null ? CLASSES.get(characterClass) : null;
+        return table != null ? table.hitDie : DEFAULT_HIT_DIE;
+    }
+
+    /**
+     * Maximum hit points with fixed hit point increases: the full hit die at level 1, then
+     * the die's average rounded up for each further level, each level adding the Constitution
+     * modifier but never less than 1.
+     */
+    public static int maxHitPoints(String characterClass, int level, int constitution) {
+        int hitDie = hitDie(characterClass);
+        int constitutionModifier = modifier(constitution);
+        int levels = Math.max(1, Math.min(level, MAX_LEVEL));
+        int firstLevel = Math.max(1, hitDie + constitutionModifier);
+        int perLevel = Math.max(1, hitDie / 2 + 1 + constitutionModifier);
+        return firstLevel + (levels - 1) * perLevel;
+    }
+
+    /**
+     * Whether the class is proficient in saving throws of the given ability.
+     */
+    public static boolean isSavingThrowProficient(String characterClass, int ability) {
+        ClassTable table = characterClass != null ? CLASSES.get(characterClass) : null;
+        return table != null && table.savingThrows[ability];
+    }
+
+    /**
+     * Saving throw bonus: the ability modifier, plus the proficiency bonus if the class is proficient.
+     */
+    public static int savingThrow(String characterClass, int level, int ability, int score) {
+        int bonus = modifier(score);
+        return isSavingThrowProficient(characterClass, ability) ? bonus + proficiencyBonus(level) : bonus;
+    }
+
+    /**
+     * Hit die and saving throw proficiencies of one class.
+     */
+    private static class ClassTable {
+        final int hitDie;
+        final boolean[] savingThrows = new boolean[6];
+
+        ClassTable(int hitDie, int firstSave, int secondSave) {
+            this.hitDie = hitDie;
+            savingThrows[firstSave] = true;
+            savingThrows[secondSave] = true;
+        }
+    }
+}
@@ -9,11 +9,25 @@ import jakarta.validation.constraints.*;
  * name, race, class, level, and ability scores.
  */
 @Entity
-@Table(name = "characters")
+@Table(name = "characters", indexes = {
+        // Race, race + class and race + class + level range filters
+        @Index(name = "idx_characters_race_class_level", columnList = "race, character_class, level"),
+        // Class and class + level range filters without a race
+        @Index(name = "idx_characters_class_level", columnList = "character_class, level"),
+        // Level range filters on their own
+        @Index(name = "idx_characters_level", columnList = "level")
+})
 public class DndCharacter {
 
+    // Id sequence, and the ids Hibernate takes from it at a time
+    public static final String ID_SEQUENCE = "characters_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence ids let Hibernate batch inserts (IDENTITY disables JDBC batching);
+    // CharacterIdSequence moves the sequence past ids that were assigned before it existed
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -62,6 +76,10 @@ public class DndCharacter {
     @Column(length = 1000)
     private String background;
 
+    // Incremented on every update; used for optimistic locking and as the HTTP ETag
+    @Version
+    private Long version;
+
     // Constructors
     public DndCharacter() {
     }
@@ -72,6 +90,24 @@ public class DndCharacter {
         this.characterClass = characterClass;
     }
 
+    /**
+     * Detached copy of this character's current values.
+     */
+    public DndCharacter copy() {
+        DndCharacter copy = new DndCharacter(name, race, characterClass);
+        copy.id = id;
+        copy.level = level;
+        copy.strength = strength;
+        copy.dexterity = dexterity;
+        copy.constitution = constitution;
+        copy.intelligence = intelligence;
+        copy.wisdom = wisdom;
+        copy.charisma = charisma;
+        copy.background = background;
+        copy.version = version;
+        return copy;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -169,37 +205,86 @@ public class DndCharacter {
         this.background = background;
     }
 
-    // Helper methods for ability score modifiers (D&D 5e formula: floor((score - 10) / 2))
-    private int calculateModifier(int score) {
-        return (int) Math.floor((score - 10) / 2.0);
+    public Long getVersion() {
+        return version;
     }
 
-    private String formatModifier(int modifier) {
-        return modifier >= 0 ? "+" + modifier : String.valueOf(modifier);
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
+    // Ability modifiers (D&D 5e formula: floor((score - 10) / 2)), looked up in DerivedStats
     public String getStrengthModifier() {
-        return formatModifier(calculateModifier(strength));
+        return DerivedStats.format(DerivedStats.modifier(strength));
     }
 
     public String getDexterityModifier() {
-        return formatModifier(calculateModifier(dexterity));
+        return DerivedStats.format(DerivedStats.modifier(dexterity));
     }
 
     public String getConstitutionModifier() {
-        return formatModifier(calculateModifier(constitution));
+        return DerivedStats.format(DerivedStats.modifier(constitution));
     }
 
     public String getIntelligenceModifier() {
-        return formatModifier(calculateModifier(intelligence));
+        return DerivedStats.format(DerivedStats.modifier(intelligence));
     }
 
     public String getWisdomModifier() {
-        return formatModifier(calculateModifier(wisdom));
+        return DerivedStats.format(DerivedStats.modifier(wisdom));
     }
 
     public String getCharismaModifier() {
-        return formatModifier(calculateModifier(charisma));
+        return DerivedStats.format(DerivedStats.modifier(charisma));
+    }
+
+    // Combat stats derived from class, level and ability scores
+    public String getProficiencyBonus() {
+        return DerivedStats.format(DerivedStats.proficiencyBonus(level));
+    }
+
+    public int getHitDie() {
+        return DerivedStats.hitDie(characterClass);
+    }
+
+    public int getMaxHitPoints() {
+        return DerivedStats.maxHitPoints(characterClass, level, constitution);
+    }
+
+    public String getInitiative() {
+        return DerivedStats.format(DerivedStats.modifier(dexterity));
+    }
+
+    public int getPassivePerception() {
+        return 10 + DerivedStats.modifier(wisdom);
+    }
+
+    public String getStrengthSave() {
+        return savingThrow(DerivedStats.STRENGTH, strength);
+    }
+
+    public String getDexteritySave() {
+        return savingThrow(DerivedStats.DEXTERITY, dexterity);
+    }
+
+    public String getConstitutionSave() {
+        return savingThrow(DerivedStats.CONSTITUTION, constitution);
+    }
+
+    public String getIntelligenceSave() {
+        return savingThrow(DerivedStats.INTELLIGENCE, intelligence);
+    }
+
+    public String getWisdomSave() {
+        return savingThrow(DerivedStats.WISDOM, wisdom);
+    }
+
+    public String getCharismaSave() {
+        return savingThrow(DerivedStats.CHARISMA, charisma);
+    }
+
+    private String savingThrow(int ability, int score) {
+        return DerivedStats.format(DerivedStats.savingThrow(characterClass, level, ability, score));
     }
 
     @Override
@@ -0,0 +1,66 @@
+package com.schoolproject.dnd.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk NDJSON import: how many lines were saved and which lines failed.
+ * Only the first MAX_REPORTED_ERRORS failures are kept so the report stays small.
+ */
+public class ImportReport {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long imported;
+    private long failed;
+    private final List<LineError> errors = new ArrayList<>();
+
+    public void recordImported(int count) {
+        imported += count;
+    }
+
+    public void recordError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new LineError(line, message));
+        }
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    /**
+     * A single rejected input line.
+     */
+    public static class LineError {
+
+        private final long line;
+        private final String message;
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
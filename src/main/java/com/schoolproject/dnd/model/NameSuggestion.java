@@ -0,0 +1,29 @@
+package com.schoolproject.dnd.model;
+
+/**
+ * One autocomplete match: a character whose name starts with the typed prefix.
+ */
+public class NameSuggestion {
+
+    private final Long id;
+    private final String name;
+    private final int level;
+
+    public NameSuggestion(Long id, String name, int level) {
+        this.id = id;
+        this.name = name;
+        this.level = level;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,49 @@
+package com.schoolproject.dnd.model;
+
+import com.schoolproject.dnd.model.SimulationSummary.AbilityDistribution;
+
+import java.util.Map;
+
+/**
+ * Counts and ability distributions over all saved characters.
+ */
+public class RosterStatistics {
+
+    private final long count;
+    private final Map<String, Long> raceCounts;
+    private final Map<String, Long> classCounts;
+    private final Map<Integer, Long> levelCounts;
+    private final Map<String, AbilityDistribution> abilities;
+
+    public RosterStatistics(long count,
+                            Map<String, Long> raceCounts,
+                            Map<String, Long> classCounts,
+                            Map<Integer, Long> levelCounts,
+                            Map<String, AbilityDistribution> abilities) {
+        this.count = count;
+        this.raceCounts = raceCounts;
+        this.classCounts = classCounts;
+        this.levelCounts = levelCounts;
+        this.abilities = abilities;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Map<String, Long> getRaceCounts() {
+        return raceCounts;
+    }
+
+    public Map<String, Long> getClassCounts() {
+        return classCounts;
+    }
+
+    public Map<Integer, Long> getLevelCounts() {
+        return levelCounts;
+    }
+
+    public Map<String, AbilityDistribution> getAbilities() {
+        return abilities;
+    }
+}
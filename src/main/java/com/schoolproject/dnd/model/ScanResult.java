@@ -0,0 +1,42 @@
+package com.schoolproject.dnd.model;
+
+/**
+ * Result of a predicate scan over the columnar roster: how many characters
+ * matched, and the ids of the first matches.
+ */
+public class ScanResult {
+
+    private final long count;
+    private final long[] ids;
+    private final long scannedRows;
+    private final long elapsedMicros;
+    private final String scanner;
+
+    public ScanResult(long count, long[] ids, long scannedRows, long elapsedMicros, String scanner) {
+        this.count = count;
+        this.ids = ids;
+        this.scannedRows = scannedRows;
+        this.elapsedMicros = elapsedMicros;
+        this.scanner = scanner;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public long getScannedRows() {
+        return scannedRows;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public String getScanner() {
+        return scanner;
+    }
+}
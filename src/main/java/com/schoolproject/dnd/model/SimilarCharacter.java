@@ -0,0 +1,24 @@
+package com.schoolproject.dnd.model;
+
+/**
+ * A character whose ability scores are close to another's, with the Euclidean
+ * distance between the two six-score vectors.
+ */
+public class SimilarCharacter {
+
+    private final CharacterSummary character;
+    private final double distance;
+
+    public SimilarCharacter(CharacterSummary character, double distance) {
+        this.character = character;
+        this.distance = distance;
+    }
+
+    public CharacterSummary getCharacter() {
+        return character;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,86 @@
+package com.schoolproject.dnd.model;
+
+import java.util.Map;
+
+/**
+ * Distribution summary of an in-memory character simulation run.
+ * Nothing in a simulation is written to the database.
+ */
+public class SimulationSummary {
+
+    private final long count;
+    private final long seed;
+    private final long elapsedMillis;
+    private final Map<String, Long> raceCounts;
+    private final Map<String, Long> classCounts;
+    private final Map<Integer, Long> levelCounts;
+    private final Map<String, AbilityDistribution> abilities;
+
+    public SimulationSummary(long count, long seed, long elapsedMillis,
+                             Map<String, Long> raceCounts,
+                             Map<String, Long> classCounts,
+                             Map<Integer, Long> levelCounts,
+                             Map<String, AbilityDistribution> abilities) {
+        this.count = count;
+        this.seed = seed;
+        this.elapsedMillis = elapsedMillis;
+        this.raceCounts = raceCounts;
+        this.classCounts = classCounts;
+        this.levelCounts = levelCounts;
+        this.abilities = abilities;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? count * 1000L / elapsedMillis : count;
+    }
+
+    public Map<String, Long> getRaceCounts() {
+        return raceCounts;
+    }
+
+    public Map<String, Long> getClassCounts() {
+        return classCounts;
+    }
+
+    public Map<Integer, Long> getLevelCounts() {
+        return levelCounts;
+    }
+
+    public Map<String, AbilityDistribution> getAbilities() {
+        return abilities;
+    }
+
+    /**
+     * Mean and score histogram of one ability.
+     */
+    public static class AbilityDistribution {
+
+        private final double mean;
+        private final Map<Integer, Long> histogram;
+
+        public AbilityDistribution(double mean, Map<Integer, Long> histogram) {
+            this.mean = mean;
+            this.histogram = histogram;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public Map<Integer, Long> getHistogram() {
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.schoolproject.dnd.model;
+
+import java.time.Instant;
+
+/**
+ * Timing breakdown of one request that took longer than the slow request threshold.
+ */
+public class SlowRequest {
+
+    private final Instant timestamp;
+    private final String method;
+    private final String uri;
+    private final int status;
+    private final double totalMillis;
+    private final int queryCount;
+    private final double queryMillis;
+    private final double renderMillis;
+    private final double serializeMillis;
+
+    public SlowRequest(Instant timestamp, String method, String uri, int status, double totalMillis,
+                       int queryCount, double queryMillis, double renderMillis, double serializeMillis) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.totalMillis = totalMillis;
+        this.queryCount = queryCount;
+        this.queryMillis = queryMillis;
+        this.renderMillis = renderMillis;
+        this.serializeMillis = serializeMillis;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public double getQueryMillis() {
+        return queryMillis;
+    }
+
+    public double getRenderMillis() {
+        return renderMillis;
+    }
+
+    public double getSerializeMillis() {
+        return serializeMillis;
+    }
+}
@@ -0,0 +1,86 @@
+package com.schoolproject.dnd.repository;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Keeps the characters id sequence ahead of the ids already in the table.
+ * Character ids used to come from an IDENTITY column; on a database created back then,
+ * ddl-auto=update adds characters_seq starting at 1, and new inserts would collide with
+ * the existing rows. Before the application serves requests, the sequence is moved past
+ * MAX(id) when it is behind. It is never moved back, so running instances are not affected.
+ * Rows from before optimistic locking get version 0 at the same time: ddl-auto=update adds
+ * the version column as NULL, and Spring Data would take such a row for a new entity on update.
+ */
+@Component
+public class CharacterIdSequence implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CharacterIdSequence.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CharacterIdSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignWithExistingRows();
+        fillMissingVersions();
+    }
+
+    /**
+     * Give rows saved before the version column existed the version a new row starts with.
+     */
+    public void fillMissingVersions() {
+        int filled = jdbcTemplate.update("UPDATE characters SET version = 0 WHERE version IS NULL");
+        if (filled > 0) {
+            log.info("Set version 0 on {} characters saved without one", filled);
+        }
+    }
+
+    /**
+     * Move the sequence so that every id Hibernate takes from it is above the largest id in the table.
+     */
+    public void alignWithExistingRows() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM characters", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Hibernate's pooled optimizer hands out the allocation below the value it reads, so leave room for it
+        long target = maxId + DndCharacter.ID_ALLOCATION_SIZE + 1;
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        switch (database) {
+            case "H2" -> {
+                // BASE_VALUE is the value NEXT VALUE FOR would return, read without using it up
+                Long next = jdbcTemplate.queryForObject(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                        Long.class, DndCharacter.ID_SEQUENCE.toUpperCase(Locale.ROOT));
+                if (next != null && next < target) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + DndCharacter.ID_SEQUENCE + " RESTART WITH " + target);
+                    log.info("Moved {} to {}, past existing id {}", DndCharacter.ID_SEQUENCE, target, maxId);
+                }
+            }
+            // Without sequences, Hibernate keeps the next value in a one-row table of the same name
+            case "MySQL" -> {
+                int moved = jdbcTemplate.update("UPDATE " + DndCharacter.ID_SEQUENCE
+                        + " SET next_val = ? WHERE next_val < ?", target, target);
+                if (moved > 0) {
+                    log.info("Moved {} to {}, past existing id {}", DndCharacter.ID_SEQUENCE, target, maxId);
+                }
+            }
+            default -> log.warn("Cannot check {} on {}; make sure it is above the largest id {}",
+                    DndCharacter.ID_SEQUENCE, database, maxId);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.schoolproject.dnd.repository;
+
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.DndCharacter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications for dynamic character queries.
+ * Race, class and level predicates are served by the indexes declared on DndCharacter;
+ * ability minimums are checked on the rows those indexes select.
+ */
+public final class CharacterSpecifications {
+
+    private CharacterSpecifications() {
+    }
+
+    /**
+     * Characters matching every non-null field of the criteria.
+     */
+    public static Specification<DndCharacter> matching(CharacterCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getRace() != null) {
+                predicates.add(cb.equal(root.get("race"), criteria.getRace()));
+            }
+            if (criteria.getCharacterClass() != null) {
+                predicates.add(cb.equal(root.get("characterClass"), criteria.getCharacterClass()));
+            }
+            if (criteria.getMinLevel() != null) {
+                predicates.add(cb.ge(root.get("level"), criteria.getMinLevel()));
+            }
+            if (criteria.getMaxLevel() != null) {
+                predicates.add(cb.le(root.get("level"), criteria.getMaxLevel()));
+            }
+            addMinimum(predicates, cb, root.get("strength"), criteria.getMinStrength());
+            addMinimum(predicates, cb, root.get("dexterity"), criteria.getMinDexterity());
+            addMinimum(predicates, cb, root.get("constitution"), criteria.getMinConstitution());
+            addMinimum(predicates, cb, root.get("intelligence"), criteria.getMinIntelligence());
+            addMinimum(predicates, cb, root.get("wisdom"), criteria.getMinWisdom());
+            addMinimum(predicates, cb, root.get("charisma"), criteria.getMinCharisma());
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Characters after the given id (keyset pagination); a null cursor matches everything.
+     */
+    public static Specification<DndCharacter> idGreaterThan(Long after) {
+        return (root, query, cb) -> after == null ? cb.conjunction() : cb.gt(root.get("id"), after);
+    }
+
+    private static void addMinimum(List<Predicate> predicates, CriteriaBuilder cb,
+                                   Path<Integer> path, Integer minimum) {
+        if (minimum != null) {
+            predicates.add(cb.ge(path, minimum));
+        }
+    }
+}
@@ -1,18 +1,49 @@
 package com.schoolproject.dnd.repository;
 
 import com.schoolproject.dnd.model.DndCharacter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for DndCharacter entity.
- * Provides CRUD operations and custom query methods.
+ * Provides CRUD operations, custom query methods and dynamic queries
+ * built from CharacterSpecifications.
  */
 @Repository
-public interface DndCharacterRepository extends JpaRepository<DndCharacter, Long> {
+public interface DndCharacterRepository extends JpaRepository<DndCharacter, Long>,
+        JpaSpecificationExecutor<DndCharacter> {
+
+    /**
+     * Find the next characters after the given id (keyset pagination).
+     * Served by the primary key index, so the cost does not grow with the page number.
+     */
+    List<DndCharacter> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Same as findByIdGreaterThanOrderByIdAsc, returning a projection such as CharacterSummary.
+     */
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> type);
+
+    /**
+     * Stream all characters ordered by id, read-only and fetched from the
+     * JDBC driver in batches. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM DndCharacter c ORDER BY c.id")
+    Stream<DndCharacter> streamAll();
 
     /**
      * Find all characters by race.
@@ -34,15 +65,35 @@ public interface DndCharacterRepository extends JpaRepository<DndCharacter, Long
      */
     List<DndCharacter> findByNameContainingIgnoreCase(String name);
 
+    /**
+     * Find characters by name containing (case insensitive), returning a projection.
+     */
+    <T> List<T> findByNameContainingIgnoreCase(String name, Class<T> type);
+
+    /**
+     * Whether any character has exactly this name (case insensitive).
+     */
+    boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Find the characters with the given ids, ordered by id.
+     */
+    List<DndCharacter> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Find the characters with the given ids, ordered by id, returning a projection.
+     */
+    <T> List<T> findByIdInOrderByIdAsc(Collection<Long> ids, Class<T> type);
+
     /**
      * Find all distinct races.
      */
-    @Query("SELECT DISTINCT c.race FROM DndCharacter c")
+    @Query("SELECT DISTINCT c.race FROM DndCharacter c ORDER BY c.race")
     List<String> findDistinctRaces();
 
     /**
      * Find all distinct character classes.
      */
-    @Query("SELECT DISTINCT c.characterClass FROM DndCharacter c")
+    @Query("SELECT DISTINCT c.characterClass FROM DndCharacter c ORDER BY c.characterClass")
     List<String> findDistinctCharacterClasses();
 }
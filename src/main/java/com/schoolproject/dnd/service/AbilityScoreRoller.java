@@ -0,0 +1,15 @@
+package com.schoolproject.dnd.service;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Rolls a single ability score using the 4d6 drop lowest method.
+ * The active implementation is chosen with the dnd.generator.ability-roller property.
+ */
+public interface AbilityScoreRoller {
+
+    /**
+     * Roll one ability score (3 to 18) using the given random source.
+     */
+    int roll(RandomGenerator random);
+}
@@ -0,0 +1,408 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest-neighbour search over the six ability scores, by Euclidean distance.
+ * Characters are bucketed in a grid with three scores per cell in each dimension
+ * (seven cells per ability for scores 1..20; the edge cells also take anything
+ * outside). A query visits cells best-first by their distance from the query
+ * scores and stops once no unvisited cell can hold a closer character, so it
+ * only looks at the neighbourhood of the query however large the roster is.
+ * Narrower cells make typical queries faster but outliers, surrounded by empty
+ * cells, slower; three scores keeps both well under a millisecond at 1M characters.
+ * Ties are broken by id, so results are the same as a full sort.
+ */
+@Component
+public class AbilitySimilarityIndex implements CharacterIndex {
+
+    private static final int DIMENSIONS = 6;
+    private static final int CELL_WIDTH = 3;
+    private static final int MAX_SCORE = 20;
+    private static final int CELLS_PER_DIMENSION = (MAX_SCORE + CELL_WIDTH - 1) / CELL_WIDTH;
+
+    // Powers of CELLS_PER_DIMENSION, to turn per-dimension cell coordinates into a cell index
+    private static final int[] STRIDES = new int[DIMENSIONS];
+    private static final int CELL_COUNT;
+
+    static {
+        int stride = 1;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            STRIDES[d] = stride;
+            stride *= CELLS_PER_DIMENSION;
+        }
+        CELL_COUNT = stride;
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Characters of each non-empty cell, stored inline so a cell is scanned sequentially
+    private Cell[] cells = new Cell[CELL_COUNT];
+    private final Map<Long, Integer> cellsById = new HashMap<>();
+    private final Map<String, Short> classCodes = new HashMap<>();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells = new Cell[CELL_COUNT];
+            cellsById.clear();
+            classCodes.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(DndCharacter character) {
+        int[] values = abilities(character);
+        int cell = 0;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            cell += cellCoordinate(values[d]) * STRIDES[d];
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = cellsById.put(character.getId(), cell);
+            if (existing != null) {
+                removeFromCell(existing, character.getId());
+            }
+            if (cells[cell] == null) {
+                cells[cell] = new Cell();
+            }
+            cells[cell].add(character.getId(), values, classCode(character.getCharacterClass()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(DndCharacter character) {
+        lock.writeLock().lock();
+        try {
+            Integer cell = cellsById.remove(character.getId());
+            if (cell != null) {
+                removeFromCell(cell, character.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The k characters whose ability scores are closest to the anchor's, nearest first,
+     * leaving out the anchor itself. With a class given, only characters of that class match.
+     */
+    public List<Neighbor> nearest(DndCharacter anchor, int k, String characterClass) {
+        int[] query = abilities(anchor);
+        long excludedId = anchor.getId() != null ? anchor.getId() : Long.MIN_VALUE;
+        lock.readLock().lock();
+        try {
+            short classFilter = -1;
+            if (characterClass != null) {
+                Short code = classCodes.get(characterClass);
+                if (code == null) {
+                    return List.of();
+                }
+                classFilter = code;
+            }
+            return search(query, k, classFilter, excludedId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best-first walk over the cells. Every cell is reached from exactly one parent by
+     * stepping one cell further from the query cell, and a cell is never nearer than its
+     * parent, so cells come off the queue in order of their distance from the query.
+     */
+    private List<Neighbor> search(int[] query, int k, short classFilter, long excludedId) {
+        int[] home = new int[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            home[d] = cellCoordinate(query[d]);
+        }
+        Results results = new Results(k);
+        CellQueue queue = new CellQueue();
+        queue.push(0, packCell(home, 0));
+        int[] coordinates = new int[DIMENSIONS];
+
+        while (!queue.isEmpty()) {
+            long next = queue.pop();
+            int distance = (int) (next >>> 32);
+            if (results.isFull() && distance > results.worstDistance()) {
+                break;
+            }
+            int packed = (int) next;
+            int cell = unpackCell(packed, coordinates);
+            scanCell(cell, query, classFilter, excludedId, results);
+
+            // Children: step further along the last dimension moved, or start moving in a later one
+            int steppedDimensions = packed >>> 24;
+            if (steppedDimensions > 0) {
+                int d = steppedDimensions - 1;
+                int step = coordinates[d] > home[d] ? 1 : -1;
+                pushChild(queue, distance, query, coordinates, d, step, steppedDimensions);
+            }
+            for (int d = steppedDimensions; d < DIMENSIONS; d++) {
+                pushChild(queue, distance, query, coordinates, d, 1, d + 1);
+                pushChild(queue, distance, query, coordinates, d, -1, d + 1);
+            }
+        }
+        return results.toList();
+    }
+
+    private void scanCell(int cell, int[] query, short classFilter, long excludedId, Results results) {
+        Cell members = cells[cell];
+        if (members == null) {
+            return;
+        }
+        long[] ids = members.ids;
+        byte[] scores = members.scores;
+        short[] classes = members.classes;
+        for (int i = 0, base = 0; i < members.size; i++, base += DIMENSIONS) {
+            if ((classFilter >= 0 && classes[i] != classFilter) || ids[i] == excludedId) {
+                continue;
+            }
+            int distance = 0;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                int diff = scores[base + d] - query[d];
+                distance += diff * diff;
+            }
+            results.offer(ids[i], distance);
+        }
+    }
+
+    private static void pushChild(CellQueue queue, int parentDistance, int[] query, int[] coordinates,
+                                  int d, int step, int steppedDimensions) {
+        int coordinate = coordinates[d] + step;
+        if (coordinate < 0 || coordinate >= CELLS_PER_DIMENSION) {
+            return;
+        }
+        int previousGap = gap(query[d], coordinates[d]);
+        int gap = gap(query[d], coordinate);
+        int distance = parentDistance - previousGap * previousGap + gap * gap;
+        int saved = coordinates[d];
+        coordinates[d] = coordinate;
+        queue.push(distance, packCell(coordinates, steppedDimensions));
+        coordinates[d] = saved;
+    }
+
+    /**
+     * Smallest difference between a score and any score the cell covers.
+     */
+    private static int gap(int score, int coordinate) {
+        int low = coordinate == 0 ? Integer.MIN_VALUE : coordinate * CELL_WIDTH + 1;
+        int high = coordinate == CELLS_PER_DIMENSION - 1 ? Integer.MAX_VALUE : coordinate * CELL_WIDTH + CELL_WIDTH;
+        if (score < low) {
+            return low - score;
+        }
+        return score > high ? score - high : 0;
+    }
+
+    private static int cellCoordinate(int score) {
+        return Math.max(0, Math.min(CELLS_PER_DIMENSION - 1, (score - 1) / CELL_WIDTH));
+    }
+
+    /**
+     * Cell coordinates in four bits each, with the number of dimensions already stepped in the top bits.
+     */
+    private static int packCell(int[] coordinates, int steppedDimensions) {
+        int packed = steppedDimensions << 24;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            packed |= coordinates[d] << (d * 4);
+        }
+        return packed;
+    }
+
+    private static int unpackCell(int packed, int[] coordinates) {
+        int cell = 0;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            coordinates[d] = (packed >>> (d * 4)) & 0xF;
+            cell += coordinates[d] * STRIDES[d];
+        }
+        return cell;
+    }
+
+    private static int[] abilities(DndCharacter character) {
+        return new int[]{
+                character.getStrength(), character.getDexterity(), character.getConstitution(),
+                character.getIntelligence(), character.getWisdom(), character.getCharisma()
+        };
+    }
+
+    private short classCode(String characterClass) {
+        return classCodes.computeIfAbsent(characterClass, c -> (short) classCodes.size());
+    }
+
+    private void removeFromCell(int cell, long id) {
+        Cell members = cells[cell];
+        if (members != null && members.remove(id) && members.size == 0) {
+            cells[cell] = null;
+        }
+    }
+
+    /**
+     * A character found by a similarity search, with its squared distance from the anchor.
+     */
+    public static class Neighbor {
+        private final long id;
+        private final int squaredDistance;
+
+        Neighbor(long id, int squaredDistance) {
+            this.id = id;
+            this.squaredDistance = squaredDistance;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getSquaredDistance() {
+            return squaredDistance;
+        }
+    }
+
+    /**
+     * The characters in one grid cell: ids, scores (six per character) and class codes.
+     */
+    private static class Cell {
+        long[] ids = new long[4];
+        byte[] scores = new byte[4 * DIMENSIONS];
+        short[] classes = new short[4];
+        int size;
+
+        void add(long id, int[] values, short classCode) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2 * DIMENSIONS);
+                classes = Arrays.copyOf(classes, size * 2);
+            }
+            ids[size] = id;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                scores[size * DIMENSIONS + d] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, values[d]));
+            }
+            classes[size] = classCode;
+            size++;
+        }
+
+        /**
+         * Remove by moving the last character into the gap.
+         */
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    System.arraycopy(scores, size * DIMENSIONS, scores, i * DIMENSIONS, DIMENSIONS);
+                    classes[i] = classes[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The best k matches so far, sorted by distance and then id.
+     */
+    private static class Results {
+        private final long[] ids;
+        private final int[] distances;
+        private int size;
+
+        Results(int k) {
+            ids = new long[k];
+            distances = new int[k];
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        int worstDistance() {
+            return distances[size - 1];
+        }
+
+        void offer(long id, int distance) {
+            if (ids.length == 0 || (isFull() && !precedes(distance, id, distances[size - 1], ids[size - 1]))) {
+                return;
+            }
+            int i = isFull() ? size - 1 : size++;
+            while (i > 0 && precedes(distance, id, distances[i - 1], ids[i - 1])) {
+                ids[i] = ids[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+
+        private static boolean precedes(int distance, long id, int otherDistance, long otherId) {
+            return distance < otherDistance || (distance == otherDistance && id < otherId);
+        }
+
+        List<Neighbor> toList() {
+            List<Neighbor> neighbors = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                neighbors.add(new Neighbor(ids[i], distances[i]));
+            }
+            return neighbors;
+        }
+    }
+
+    /**
+     * Binary min-heap of cells, each a long holding the cell's distance in the high half.
+     */
+    private static class CellQueue {
+        private long[] heap = new long[256];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int distance, int packedCell) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            long value = ((long) distance << 32) | (packedCell & 0xFFFFFFFFL);
+            int i = size++;
+            while (i > 0 && heap[(i - 1) >>> 1] > value) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Writes the background story of a generated character.
+ */
+public interface BackgroundGenerator {
+
+    // Starting buffer size; generated stories are usually shorter
+    int INITIAL_CAPACITY = 160;
+
+    /**
+     * Append a background for the character to out, drawing any choices from the random source.
+     */
+    void appendBackground(DndCharacter character, RandomGenerator random, StringBuilder out);
+
+    /**
+     * Background for the character as a new string.
+     */
+    default String generate(DndCharacter character, RandomGenerator random) {
+        StringBuilder out = new StringBuilder(INITIAL_CAPACITY);
+        appendBackground(character, random, out);
+        return out.toString();
+    }
+}
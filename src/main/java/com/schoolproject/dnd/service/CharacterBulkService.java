@@ -0,0 +1,250 @@
+package com.schoolproject.dnd.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.schoolproject.dnd.model.BulkGenerationResult;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ImportReport;
+import com.schoolproject.dnd.repository.DndCharacterRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service class for bulk character operations.
+ * Writes characters in chunks, one transaction per chunk, so that Hibernate
+ * can batch the inserts and the persistence context never grows past one chunk.
+ * Exports stream rows straight from the database to the output, and imports
+ * read their input line by line, so neither holds the whole roster in memory.
+ */
+@Service
+@Timed(value = "dnd.service", description = "Time spent in character service methods")
+public class CharacterBulkService {
+
+    // Upper bound for the import chunk size a client may request
+    public static final int MAX_CHUNK_SIZE = 10_000;
+
+    private final DndCharacterService characterService;
+    private final DndCharacterRepository repository;
+    private final CharacterIndexes characterIndexes;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader ndjsonReader;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxCount;
+
+    @Autowired
+    public CharacterBulkService(DndCharacterService characterService,
+                                DndCharacterRepository repository,
+                                CharacterIndexes characterIndexes,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Value("${dnd.bulk.chunk-size:1000}") int chunkSize,
+                                @Value("${dnd.bulk.max-count:100000}") int maxCount) {
+        this.characterService = characterService;
+        this.repository = repository;
+        this.characterIndexes = characterIndexes;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.ndjsonReader = objectMapper.readerFor(DndCharacter.class);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Largest number of characters a single bulk request may create.
+     */
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * Generate and save the given number of random characters.
+     */
+    public BulkGenerationResult generateAndSave(int count) {
+        return generateAndSave(count, null);
+    }
+
+    /**
+     * Generate and save the given number of random characters.
+     * With a seed, the same count and seed always produce the same characters in the same order,
+     * except that names already taken by saved characters are replaced by others.
+     * Names are also distinct within the run.
+     */
+    public BulkGenerationResult generateAndSave(int count, Long seed) {
+        if (count < 1 || count > maxCount) {
+            throw new IllegalArgumentException("Count must be between 1 and " + maxCount);
+        }
+        RandomGenerator random = seed != null ? new SplittableRandom(seed) : ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        StringBuilder backgroundBuffer = new StringBuilder(BackgroundGenerator.INITIAL_CAPACITY);
+        // Names of the chunk being generated; once it is saved they are in the name filter
+        Set<String> pendingNames = new HashSet<>();
+        int created = 0;
+        while (created < count) {
+            int size = Math.min(chunkSize, count - created);
+            List<DndCharacter> chunk = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                chunk.add(characterService.generateRandomCharacter(random, backgroundBuffer, pendingNames));
+            }
+            saveChunk(chunk);
+            pendingNames.clear();
+            created += size;
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BulkGenerationResult(created, elapsedMillis);
+    }
+
+    /**
+     * Write every character as newline-delimited JSON, ordered by id.
+     * Rows are streamed from the database and the persistence context is cleared
+     * after every chunk, so heap use does not depend on the size of the table.
+     * Writes block while the client is slow to read, which throttles the query.
+     *
+     * @return the number of characters written
+     */
+    @Transactional(readOnly = true)
+    public long exportAsNdjson(OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<DndCharacter> characters = repository.streamAll();
+             JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<DndCharacter> iterator = characters.iterator();
+            while (iterator.hasNext()) {
+                ndjsonWriter.writeValue(generator, iterator.next());
+                written++;
+                if (written % chunkSize == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Import newline-delimited JSON characters, reading one line at a time.
+     * Each line is validated against the DndCharacter constraints; valid rows are
+     * saved in chunks of the given size, one transaction per chunk. Ids in the
+     * input are ignored, so every imported line becomes a new character.
+     */
+    public ImportReport importNdjson(InputStream in, Integer requestedChunkSize) throws IOException {
+        int size = requestedChunkSize != null
+                ? Math.max(1, Math.min(requestedChunkSize, MAX_CHUNK_SIZE))
+                : chunkSize;
+        ImportReport report = new ImportReport();
+        List<DndCharacter> chunk = new ArrayList<>(size);
+        List<Long> chunkLines = new ArrayList<>(size);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            DndCharacter character;
+            try {
+                character = ndjsonReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                report.recordError(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            Set<ConstraintViolation<DndCharacter>> violations = validator.validate(character);
+            if (!violations.isEmpty()) {
+                report.recordError(lineNumber, describe(violations));
+                continue;
+            }
+            character.setId(null);
+            character.setVersion(null);
+            chunk.add(character);
+            chunkLines.add(lineNumber);
+            if (chunk.size() == size) {
+                importChunk(chunk, chunkLines, report);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, chunkLines, report);
+        }
+        return report;
+    }
+
+    /**
+     * Save one chunk of validated import rows; if the chunk fails, every line in it is reported.
+     */
+    private void importChunk(List<DndCharacter> chunk, List<Long> chunkLines, ImportReport report) {
+        try {
+            saveChunk(chunk);
+            report.recordImported(chunk.size());
+        } catch (RuntimeException e) {
+            for (Long line : chunkLines) {
+                report.recordError(line, "Could not save: " + e.getMessage());
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    /**
+     * Turn constraint violations into a single message, ordered by field name.
+     */
+    private String describe(Set<ConstraintViolation<DndCharacter>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Insert one chunk in its own transaction, then detach everything it loaded.
+     * The in-memory indexes are updated once the chunk is committed.
+     */
+    private void saveChunk(List<DndCharacter> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        chunk.forEach(characterIndexes::added);
+    }
+}
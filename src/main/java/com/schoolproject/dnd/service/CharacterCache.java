@@ -0,0 +1,73 @@
+package com.schoolproject.dnd.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.schoolproject.dnd.model.CacheStatistics;
+import com.schoolproject.dnd.model.DndCharacter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of characters by id.
+ * Caffeine evicts with W-TinyLFU, so frequently read characters stay resident
+ * while one-off lookups are dropped first. Concurrent misses for the same id wait
+ * for a single load instead of all going to the database. The cache holds detached
+ * copies and hands out copies, so callers can never change a cached value.
+ * Hit, miss and eviction counts are published as the "characters" cache metrics.
+ */
+@Component
+public class CharacterCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "characters";
+
+    private final Cache<Long, DndCharacter> cache;
+    private final long maxSize;
+
+    @Autowired
+    public CharacterCache(@Value("${dnd.cache.max-size:10000}") long maxSize,
+                          @Value("${dnd.cache.ttl:10m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a character from the cache, loading it on a miss. Missing characters are not cached.
+     */
+    public Optional<DndCharacter> get(Long id, Function<Long, Optional<DndCharacter>> loader) {
+        DndCharacter cached = cache.get(id, key -> loader.apply(key).map(DndCharacter::copy).orElse(null));
+        return Optional.ofNullable(cached).map(DndCharacter::copy);
+    }
+
+    /**
+     * Drop a character after it was changed or deleted. Waits for an in-flight load
+     * of the same id, so a value read before the write cannot stay cached.
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(cache.stats(), cache.estimatedSize(), maxSize);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
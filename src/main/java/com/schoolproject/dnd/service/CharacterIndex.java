@@ -0,0 +1,27 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+
+/**
+ * An in-memory structure that mirrors part of the characters table.
+ * Implementations are registered as Spring beans; CharacterIndexes rebuilds
+ * them at startup and keeps them in sync as characters are saved and deleted.
+ * Implementations must be thread-safe and must not keep the passed entities.
+ */
+public interface CharacterIndex {
+
+    /**
+     * Drop all entries before a rebuild.
+     */
+    void clear();
+
+    /**
+     * Add a saved character (with its id assigned).
+     */
+    void add(DndCharacter character);
+
+    /**
+     * Remove a character, given its values as they were when it was added.
+     */
+    void remove(DndCharacter character);
+}
@@ -0,0 +1,97 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.repository.DndCharacterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps every CharacterIndex in sync with the characters table.
+ * All indexes are rebuilt from one pass over the table before the application
+ * starts serving requests, then updated by the service layer on every write.
+ */
+@Component
+public class CharacterIndexes implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CharacterIndexes.class);
+
+    // Rows loaded per keyset page during a rebuild
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final DndCharacterRepository repository;
+    private final List<CharacterIndex> indexes;
+    private volatile boolean ready;
+
+    @Autowired
+    public CharacterIndexes(DndCharacterRepository repository, List<CharacterIndex> indexes) {
+        this.repository = repository;
+        this.indexes = indexes;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Whether the indexes reflect the whole table and may answer queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Clear every index and reload it from the database, one keyset page at a time.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        ready = false;
+        indexes.forEach(CharacterIndex::clear);
+        long cursor = 0;
+        long loaded = 0;
+        List<DndCharacter> page;
+        do {
+            page = repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(REBUILD_PAGE_SIZE));
+            for (DndCharacter character : page) {
+                added(character);
+                cursor = character.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        ready = true;
+        log.info("Rebuilt {} character indexes from {} rows in {} ms",
+                indexes.size(), loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * A character was inserted.
+     */
+    public void added(DndCharacter saved) {
+        for (CharacterIndex index : indexes) {
+            index.add(saved);
+        }
+    }
+
+    /**
+     * An existing character was overwritten; previous holds its old values.
+     */
+    public void updated(DndCharacter previous, DndCharacter saved) {
+        removed(previous);
+        added(saved);
+    }
+
+    /**
+     * A character was deleted; previous holds its last values.
+     */
+    public void removed(DndCharacter previous) {
+        for (CharacterIndex index : indexes) {
+            index.remove(previous);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DerivedStats;
+import com.schoolproject.dnd.model.SimulationSummary;
+import com.schoolproject.dnd.model.SimulationSummary.AbilityDistribution;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory character generation for balancing simulations.
+ * Characters are generated in parallel chunks into primitive columns (race and
+ * class codes, level, six abilities) and reduced to a distribution summary.
+ * No DndCharacter or String is created per row and nothing is persisted.
+ */
+@Service
+public class CharacterSimulationEngine {
+
+    // Rows generated per chunk; each chunk gets its own split random stream
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private static final List<String> ABILITIES = DerivedStats.ABILITY_NAMES;
+    private static final int ABILITY_COUNT = ABILITIES.size();
+    private static final int MIN_SCORE = 3;
+    private static final int MAX_SCORE = 18;
+    private static final int MAX_LEVEL = 10;
+
+    private final List<String> races;
+    private final List<String> classes;
+    private final AbilityScoreRoller abilityScoreRoller;
+    private final long maxCount;
+    private final LongAdder simulatedCount = new LongAdder();
+
+    @Autowired
+    public CharacterSimulationEngine(DndCharacterService characterService,
+                                     AbilityScoreRoller abilityScoreRoller,
+                                     @Value("${dnd.simulation.max-count:100000000}") long maxCount) {
+        this.races = characterService.getAvailableRaces();
+        this.classes = characterService.getAvailableClasses();
+        this.abilityScoreRoller = abilityScoreRoller;
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Largest number of characters a single simulation may generate.
+     */
+    public long getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * Number of characters generated by simulations since startup.
+     */
+    public long getSimulatedCount() {
+        return simulatedCount.sum();
+    }
+
+    /**
+     * Generate the given number of characters in memory and summarize them.
+     * The same count and seed always give the same summary, whatever the number of cores.
+     * Without a seed a random one is picked and reported in the summary.
+     */
+    @Timed(value = "dnd.service", description = "Time spent in character service methods")
+    public SimulationSummary simulate(long count, Long seed) {
+        if (count < 1 || count > maxCount) {
+            throw new IllegalArgumentException("Count must be between 1 and " + maxCount);
+        }
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        long start = System.nanoTime();
+
+        // Split all streams up front so each chunk's stream does not depend on scheduling
+        int chunks = (int) ((count + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        SplittableRandom root = new SplittableRandom(effectiveSeed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) {
+            streams[i] = root.split();
+        }
+
+        // Buffers are handed back after each chunk, so there are at most as many as threads
+        // working on this call at once, and all of them are released when it returns
+        Queue<ChunkColumns> buffers = new ConcurrentLinkedQueue<>();
+        Tally total = IntStream.range(0, chunks).parallel().collect(
+                () -> new Tally(races.size(), classes.size()),
+                (tally, chunk) -> {
+                    int rows = (int) Math.min(CHUNK_SIZE, count - (long) chunk * CHUNK_SIZE);
+                    ChunkColumns chunkColumns = buffers.poll();
+                    if (chunkColumns == null) {
+                        chunkColumns = new ChunkColumns();
+                    }
+                    fill(chunkColumns, streams[chunk], rows);
+                    tally.add(chunkColumns, rows);
+                    buffers.offer(chunkColumns);
+                },
+                Tally::merge);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        simulatedCount.add(count);
+        return summarize(total, count, effectiveSeed, elapsedMillis);
+    }
+
+    /**
+     * Fill the first rows of the columns with random characters.
+     */
+    private void fill(ChunkColumns c, SplittableRandom random, int rows) {
+        int raceCount = races.size();
+        int classCount = classes.size();
+        for (int row = 0; row < rows; row++) {
+            c.race[row] = (byte) random.nextInt(raceCount);
+            c.characterClass[row] = (byte) random.nextInt(classCount);
+            c.level[row] = (byte) (random.nextInt(MAX_LEVEL) + 1);
+            int base = row * ABILITY_COUNT;
+            for (int a = 0; a < ABILITY_COUNT; a++) {
+                c.abilities[base + a] = (byte) abilityScoreRoller.roll(random);
+            }
+        }
+    }
+
+    private SimulationSummary summarize(Tally total, long count, long seed, long elapsedMillis) {
+        Map<String, Long> raceCounts = new LinkedHashMap<>();
+        for (int i = 0; i < races.size(); i++) {
+            raceCounts.put(races.get(i), total.raceCounts[i]);
+        }
+        Map<String, Long> classCounts = new LinkedHashMap<>();
+        for (int i = 0; i < classes.size(); i++) {
+            classCounts.put(classes.get(i), total.classCounts[i]);
+        }
+        Map<Integer, Long> levelCounts = new LinkedHashMap<>();
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            levelCounts.put(level, total.levelCounts[level]);
+        }
+        Map<String, AbilityDistribution> abilities = new LinkedHashMap<>();
+        for (int a = 0; a < ABILITY_COUNT; a++) {
+            Map<Integer, Long> histogram = new LinkedHashMap<>();
+            for (int score = MIN_SCORE; score <= MAX_SCORE; score++) {
+                histogram.put(score, total.abilityHistograms[a][score]);
+            }
+            abilities.put(ABILITIES.get(a), new AbilityDistribution((double) total.abilitySums[a] / count, histogram));
+        }
+        return new SimulationSummary(count, seed, elapsedMillis, raceCounts, classCounts, levelCounts, abilities);
+    }
+
+    /**
+     * Column buffers for one chunk, reused by the following chunks of the same simulation.
+     */
+    private static class ChunkColumns {
+        final byte[] race = new byte[CHUNK_SIZE];
+        final byte[] characterClass = new byte[CHUNK_SIZE];
+        final byte[] level = new byte[CHUNK_SIZE];
+        final byte[] abilities = new byte[CHUNK_SIZE * ABILITY_COUNT];
+    }
+
+    /**
+     * Counters accumulated over one or more chunks.
+     */
+    private static class Tally {
+        final long[] raceCounts;
+        final long[] classCounts;
+        final long[] levelCounts = new long[MAX_LEVEL + 1];
+        final long[] abilitySums = new long[ABILITY_COUNT];
+        final long[][] abilityHistograms = new long[ABILITY_COUNT][MAX_SCORE + 1];
+
+        Tally(int raceCount, int classCount) {
+            raceCounts = new long[raceCount];
+            classCounts = new long[classCount];
+        }
+
+        void add(ChunkColumns c, int rows) {
+            for (int row = 0; row < rows; row++) {
+                raceCounts[c.race[row]]++;
+                classCounts[c.characterClass[row]]++;
+                levelCounts[c.level[row]]++;
+                int base = row * ABILITY_COUNT;
+                for (int a = 0; a < ABILITY_COUNT; a++) {
+                    int score = c.abilities[base + a];
+                    abilitySums[a] += score;
+                    abilityHistograms[a][score]++;
+                }
+            }
+        }
+
+        void merge(Tally other) {
+            addAll(raceCounts, other.raceCounts);
+            addAll(classCounts, other.classCounts);
+            addAll(levelCounts, other.levelCounts);
+            addAll(abilitySums, other.abilitySums);
+            for (int a = 0; a < ABILITY_COUNT; a++) {
+                addAll(abilityHistograms[a], other.abilityHistograms[a]);
+            }
+        }
+
+        private static void addAll(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += source[i];
+            }
+        }
+    }
+}
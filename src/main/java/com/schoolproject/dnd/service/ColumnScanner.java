@@ -0,0 +1,41 @@
+package com.schoolproject.dnd.service;
+
+/**
+ * Predicate scans over one column of the ColumnarRoster.
+ * A scan narrows a bitmap holding one bit per row (bit r of word r / 64): the bit of
+ * every row whose value fails the predicate is cleared, the others are left as they
+ * were, so successive scans AND their predicates together. Blocks of rows whose bits
+ * are already all clear may be skipped.
+ */
+interface ColumnScanner {
+
+    /**
+     * Keep rows whose value is at least min.
+     */
+    void atLeast(byte[] column, int rows, byte min, long[] bitmap);
+
+    /**
+     * Keep rows whose value is between min and max, inclusive.
+     */
+    void between(short[] column, int rows, short min, short max, long[] bitmap);
+
+    /**
+     * Keep rows whose value equals the given one.
+     */
+    void equalTo(short[] column, int rows, short value, long[] bitmap);
+
+    /**
+     * Name reported with scan results, e.g. "vector-256" or "scalar".
+     */
+    String name();
+
+    /**
+     * The Vector API scanner when the jdk.incubator.vector module is present and usable, else the scalar one.
+     */
+    static ColumnScanner create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorColumnScanner.isSupported()) {
+            return new VectorColumnScanner();
+        }
+        return new ScalarColumnScanner();
+    }
+}
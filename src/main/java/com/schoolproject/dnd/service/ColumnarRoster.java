@@ -0,0 +1,308 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ScanResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the characters table for predicate scans.
+ * Each ability is a byte array, level a short array, and race and class are
+ * dictionary-coded into short arrays, so a scan over a million rows touches a
+ * few megabytes of contiguous memory instead of a million entities.
+ * Rows stay in insertion order, which is id order for generated ids. A deleted
+ * row is only marked dead; an update rewrites the row in place. Dead rows are
+ * compacted away once they make up a quarter of the table.
+ */
+@Component
+public class ColumnarRoster implements CharacterIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Dead rows tolerated before compacting, as an absolute floor and a fraction of all rows
+    private static final int MIN_DEAD_ROWS_TO_COMPACT = 1024;
+    private static final int DEAD_ROWS_RATIO = 4;
+
+    private static final int ABILITY_COUNT = 6;
+
+    private final ColumnScanner scanner;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private byte[][] abilities;
+    private short[] levels;
+    private short[] races;
+    private short[] classes;
+    // One bit per row, set while the row holds a live character
+    private long[] live;
+    private int rows;
+    private int deadRows;
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private final Dictionary raceDictionary = new Dictionary();
+    private final Dictionary classDictionary = new Dictionary();
+
+    /**
+     * With vectorized set, scans use the Vector API when the jdk.incubator.vector module is present.
+     */
+    @Autowired
+    public ColumnarRoster(@Value("${dnd.roster.vectorized:true}") boolean vectorized) {
+        this.scanner = vectorized ? ColumnScanner.create() : new ScalarColumnScanner();
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Name of the scan implementation in use.
+     */
+    public String getScannerName() {
+        return scanner.name();
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            allocate(INITIAL_CAPACITY);
+            rows = 0;
+            deadRows = 0;
+            rowsById.clear();
+            raceDictionary.clear();
+            classDictionary.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(DndCharacter character) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowsById.get(character.getId());
+            int row;
+            if (existing != null) {
+                // An update removes and re-adds the character; reuse its row to keep the order
+                row = existing;
+                if (!isLive(row)) {
+                    deadRows--;
+                }
+            } else {
+                if (rows == ids.length) {
+                    grow(rows * 2);
+                }
+                row = rows++;
+                rowsById.put(character.getId(), row);
+            }
+            write(row, character);
+            live[row >>> 6] |= 1L << row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(DndCharacter character) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.get(character.getId());
+            if (row == null || !isLive(row)) {
+                return;
+            }
+            live[row >>> 6] &= ~(1L << row);
+            deadRows++;
+            if (deadRows >= MIN_DEAD_ROWS_TO_COMPACT && deadRows * DEAD_ROWS_RATIO >= rows) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count the characters matching every non-null criterion, and return the ids of the first
+     * matches (at most limit). Race and class must match exactly.
+     */
+    public ScanResult scan(CharacterCriteria criteria, int limit) {
+        lock.readLock().lock();
+        try {
+            long start = System.nanoTime();
+            long[] bitmap = Arrays.copyOf(live, words(rows));
+            if (!narrow(criteria, bitmap)) {
+                Arrays.fill(bitmap, 0);
+            }
+
+            long count = 0;
+            for (long word : bitmap) {
+                count += Long.bitCount(word);
+            }
+            long[] matches = new long[(int) Math.min(count, limit)];
+            int found = 0;
+            for (int w = 0; w < bitmap.length && found < matches.length; w++) {
+                long word = bitmap[w];
+                while (word != 0 && found < matches.length) {
+                    matches[found++] = ids[(w << 6) + Long.numberOfTrailingZeros(word)];
+                    word &= word - 1;
+                }
+            }
+            long elapsedMicros = (System.nanoTime() - start) / 1_000;
+            return new ScanResult(count, matches, rows - deadRows, elapsedMicros, scanner.name());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clear the bits of rows failing any criterion; returns false if no row can match.
+     */
+    private boolean narrow(CharacterCriteria criteria, long[] bitmap) {
+        if (criteria.getRace() != null) {
+            short code = raceDictionary.code(criteria.getRace());
+            if (code < 0) {
+                return false;
+            }
+            scanner.equalTo(races, rows, code, bitmap);
+        }
+        if (criteria.getCharacterClass() != null) {
+            short code = classDictionary.code(criteria.getCharacterClass());
+            if (code < 0) {
+                return false;
+            }
+            scanner.equalTo(classes, rows, code, bitmap);
+        }
+        if (criteria.getMinLevel() != null || criteria.getMaxLevel() != null) {
+            int min = criteria.getMinLevel() != null ? criteria.getMinLevel() : Short.MIN_VALUE;
+            int max = criteria.getMaxLevel() != null ? criteria.getMaxLevel() : Short.MAX_VALUE;
+            if (min > max || min > Short.MAX_VALUE || max < Short.MIN_VALUE) {
+                return false;
+            }
+            scanner.between(levels, rows, toShort(min), toShort(max), bitmap);
+        }
+        Integer[] minimums = {
+                criteria.getMinStrength(), criteria.getMinDexterity(), criteria.getMinConstitution(),
+                criteria.getMinIntelligence(), criteria.getMinWisdom(), criteria.getMinCharisma()
+        };
+        for (int a = 0; a < ABILITY_COUNT; a++) {
+            if (minimums[a] != null) {
+                if (minimums[a] > Byte.MAX_VALUE) {
+                    return false;
+                }
+                scanner.atLeast(abilities[a], rows, toByte(minimums[a]), bitmap);
+            }
+        }
+        return true;
+    }
+
+    private void write(int row, DndCharacter character) {
+        ids[row] = character.getId();
+        abilities[0][row] = toByte(character.getStrength());
+        abilities[1][row] = toByte(character.getDexterity());
+        abilities[2][row] = toByte(character.getConstitution());
+        abilities[3][row] = toByte(character.getIntelligence());
+        abilities[4][row] = toByte(character.getWisdom());
+        abilities[5][row] = toByte(character.getCharisma());
+        levels[row] = toShort(character.getLevel());
+        races[row] = raceDictionary.codeOrAdd(character.getRace());
+        classes[row] = classDictionary.codeOrAdd(character.getCharacterClass());
+    }
+
+    /**
+     * Move live rows down over dead ones, keeping their order.
+     */
+    private void compact() {
+        int target = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!isLive(row)) {
+                rowsById.remove(ids[row]);
+                continue;
+            }
+            if (target != row) {
+                ids[target] = ids[row];
+                for (byte[] column : abilities) {
+                    column[target] = column[row];
+                }
+                levels[target] = levels[row];
+                races[target] = races[row];
+                classes[target] = classes[row];
+                rowsById.put(ids[target], target);
+            }
+            target++;
+        }
+        Arrays.fill(live, 0);
+        for (int row = 0; row < target; row++) {
+            live[row >>> 6] |= 1L << row;
+        }
+        rows = target;
+        deadRows = 0;
+    }
+
+    private boolean isLive(int row) {
+        return (live[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        abilities = new byte[ABILITY_COUNT][capacity];
+        levels = new short[capacity];
+        races = new short[capacity];
+        classes = new short[capacity];
+        live = new long[words(capacity)];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        for (int a = 0; a < ABILITY_COUNT; a++) {
+            abilities[a] = Arrays.copyOf(abilities[a], capacity);
+        }
+        levels = Arrays.copyOf(levels, capacity);
+        races = Arrays.copyOf(races, capacity);
+        classes = Arrays.copyOf(classes, capacity);
+        live = Arrays.copyOf(live, words(capacity));
+    }
+
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static byte toByte(int value) {
+        return (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, value));
+    }
+
+    private static short toShort(int value) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+    }
+
+    /**
+     * Mapping from distinct strings to small integer codes.
+     * Codes are never reused until the roster is cleared.
+     */
+    private static class Dictionary {
+        private final Map<String, Short> codes = new HashMap<>();
+
+        short code(String value) {
+            Short code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        short codeOrAdd(String value) {
+            Short code = codes.get(value);
+            if (code == null) {
+                if (codes.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct values: " + codes.size());
+                }
+                code = (short) codes.size();
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        void clear() {
+            codes.clear();
+        }
+    }
+}
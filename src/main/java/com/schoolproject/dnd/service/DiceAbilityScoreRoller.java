@@ -0,0 +1,27 @@
+package com.schoolproject.dnd.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Rolls four six-sided dice and sums the highest three.
+ * Selected with dnd.generator.ability-roller=dice.
+ */
+@Component
+@ConditionalOnProperty(name = "dnd.generator.ability-roller", havingValue = "dice")
+public class DiceAbilityScoreRoller implements AbilityScoreRoller {
+
+    @Override
+    public int roll(RandomGenerator random) {
+        int sum = 0;
+        int lowest = 6;
+        for (int i = 0; i < 4; i++) {
+            int die = random.nextInt(6) + 1;
+            sum += die;
+            lowest = Math.min(lowest, die);
+        }
+        return sum - lowest;
+    }
+}
@@ -1,21 +1,86 @@
 package com.schoolproject.dnd.service;
 
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.CharacterPage;
+import com.schoolproject.dnd.model.CharacterSummary;
 import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.NameSuggestion;
+import com.schoolproject.dnd.model.RosterStatistics;
+import com.schoolproject.dnd.model.ScanResult;
+import com.schoolproject.dnd.model.SimilarCharacter;
+import com.schoolproject.dnd.repository.CharacterSpecifications;
 import com.schoolproject.dnd.repository.DndCharacterRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
 
 /**
  * Service class for D&D Character operations.
  * Contains business logic for character management and generation.
+ * Every public method is timed as dnd.service, tagged with the method name.
  */
 @Service
+@Timed(value = "dnd.service", description = "Time spent in character service methods")
 public class DndCharacterService {
 
+    // Races and classes never change, so the options response and its ETag are built once
+    private static final Map<String, List<String>> OPTIONS;
+    private static final String OPTIONS_ETAG;
+
+    // Page sizes for keyset pagination
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Result sizes for name autocomplete
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 100;
+
+    // Matching ids returned by a columnar scan
+    public static final int DEFAULT_SCAN_IDS = 100;
+    public static final int MAX_SCAN_IDS = 10_000;
+
+    // Result sizes for similar character searches
+    public static final int DEFAULT_SIMILAR = 10;
+    public static final int MAX_SIMILAR = 100;
+
+    // Names drawn for a character, first without and then with a family name,
+    // before asking the database whether the last one is really taken
+    static final int SINGLE_NAME_ATTEMPTS = 3;
+    static final int MAX_NAME_ATTEMPTS = 10;
+
+    // Ids per IN query when loading search results from the trigram index
+    private static final int LOAD_BATCH_SIZE = 1000;
+
     private final DndCharacterRepository repository;
-    private final Random random = new Random();
+    private final AbilityScoreRoller abilityScoreRoller;
+    private final BackgroundGenerator backgroundGenerator;
+    private final MarkovNameGenerator nameGenerator;
+    // Name model of each race in RACES, by index
+    private final int[] raceNameModels;
+    private final NameUniquenessFilter nameFilter;
+    private final CharacterIndexes characterIndexes;
+    private final NameTrigramIndex nameTrigramIndex;
+    private final NameAutocompleteIndex nameAutocompleteIndex;
+    private final CharacterCache characterCache;
+    private final RosterStatisticsIndex rosterStatistics;
+    private final ColumnarRoster columnarRoster;
+    private final AbilitySimilarityIndex similarityIndex;
+
+    // Characters generated since startup, read by the dnd.characters.generated counter
+    private final LongAdder generatedCount = new LongAdder();
+    // Generated names drawn again because the name filter had seen them, and names confirmed
+    // against the database after every attempt hit: free after all, or really taken
+    private final LongAdder redrawnNames = new LongAdder();
+    private final LongAdder falsePositiveNames = new LongAdder();
+    private final LongAdder duplicateNames = new LongAdder();
 
     // D&D Races
     private static final List<String> RACES = Arrays.asList(
@@ -30,21 +95,40 @@ public class DndCharacterService {
             "Warlock", "Wizard"
     );
 
-    // Name prefixes for random generation
-    private static final List<String> NAME_PREFIXES = Arrays.asList(
-            "Thorn", "Shadow", "Storm", "Iron", "Silver", "Dark", "Light",
-            "Fire", "Ice", "Stone", "Wind", "Thunder", "Moon", "Sun"
-    );
-
-    // Name suffixes for random generation
-    private static final List<String> NAME_SUFFIXES = Arrays.asList(
-            "blade", "heart", "striker", "walker", "seeker", "bringer",
-            "warden", "keeper", "slayer", "hunter", "weaver", "caller"
-    );
+    static {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        options.put("races", RACES);
+        options.put("classes", CLASSES);
+        OPTIONS = Collections.unmodifiableMap(options);
+        OPTIONS_ETAG = Integer.toHexString(OPTIONS.hashCode());
+    }
 
     @Autowired
-    public DndCharacterService(DndCharacterRepository repository) {
+    public DndCharacterService(DndCharacterRepository repository,
+                               AbilityScoreRoller abilityScoreRoller,
+                               BackgroundGenerator backgroundGenerator,
+                               MarkovNameGenerator nameGenerator,
+                               NameUniquenessFilter nameFilter,
+                               CharacterIndexes characterIndexes,
+                               NameTrigramIndex nameTrigramIndex,
+                               NameAutocompleteIndex nameAutocompleteIndex,
+                               CharacterCache characterCache,
+                               RosterStatisticsIndex rosterStatistics,
+                               ColumnarRoster columnarRoster,
+                               AbilitySimilarityIndex similarityIndex) {
         this.repository = repository;
+        this.abilityScoreRoller = abilityScoreRoller;
+        this.backgroundGenerator = backgroundGenerator;
+        this.nameGenerator = nameGenerator;
+        this.raceNameModels = RACES.stream().mapToInt(nameGenerator::model).toArray();
+        this.nameFilter = nameFilter;
+        this.characterIndexes = characterIndexes;
+        this.nameTrigramIndex = nameTrigramIndex;
+        this.nameAutocompleteIndex = nameAutocompleteIndex;
+        this.characterCache = characterCache;
+        this.rosterStatistics = rosterStatistics;
+        this.columnarRoster = columnarRoster;
+        this.similarityIndex = similarityIndex;
     }
 
     /**
@@ -55,24 +139,77 @@ public class DndCharacterService {
     }
 
     /**
-     * Get character by ID.
+     * Get one page of characters ordered by id, starting after the given cursor.
+     * A null cursor starts at the beginning; the limit is clamped to 1..MAX_PAGE_SIZE.
+     */
+    public CharacterPage<DndCharacter> getCharacterPage(Long after, int limit) {
+        int pageSize = clampPageSize(limit);
+        long cursor = after != null ? after : 0L;
+        List<DndCharacter> fetched = repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(pageSize + 1));
+        return CharacterPage.of(fetched, pageSize, DndCharacter::getId);
+    }
+
+    /**
+     * Same as getCharacterPage, but only with the columns shown in lists.
+     */
+    public CharacterPage<CharacterSummary> getCharacterSummaryPage(Long after, int limit) {
+        int pageSize = clampPageSize(limit);
+        long cursor = after != null ? after : 0L;
+        List<CharacterSummary> fetched = repository.findByIdGreaterThanOrderByIdAsc(
+                cursor, Limit.of(pageSize + 1), CharacterSummary.class);
+        return CharacterPage.of(fetched, pageSize, CharacterSummary::getId);
+    }
+
+    /**
+     * Get one page of the characters matching the criteria, ordered by id, in a single query.
+     * Paging works as in getCharacterPage.
+     */
+    public CharacterPage<DndCharacter> queryCharacters(CharacterCriteria criteria, Long after, int limit) {
+        int pageSize = clampPageSize(limit);
+        List<DndCharacter> fetched = repository.findBy(
+                CharacterSpecifications.matching(criteria).and(CharacterSpecifications.idGreaterThan(after)),
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+        return CharacterPage.of(fetched, pageSize, DndCharacter::getId);
+    }
+
+    /**
+     * Get character by ID, served from the cache when possible.
+     * The result is a detached copy.
      */
     public Optional<DndCharacter> getCharacterById(Long id) {
-        return repository.findById(id);
+        return characterCache.get(id, repository::findById);
     }
 
     /**
-     * Save a character.
+     * Save a character and update the in-memory indexes.
+     * An update without a version overwrites the stored row; one with a stale version is rejected.
      */
     public DndCharacter saveCharacter(DndCharacter character) {
-        return repository.save(character);
+        // Copy the old values first: saving may merge the new ones into the same managed instance
+        Optional<DndCharacter> previous = character.getId() != null
+                ? repository.findById(character.getId()).map(DndCharacter::copy)
+                : Optional.empty();
+        if (character.getVersion() == null) {
+            previous.ifPresent(p -> character.setVersion(p.getVersion()));
+        }
+        DndCharacter saved = repository.save(character);
+        characterCache.invalidate(saved.getId());
+        if (previous.isPresent()) {
+            characterIndexes.updated(previous.get(), saved);
+        } else {
+            characterIndexes.added(saved);
+        }
+        return saved;
     }
 
     /**
-     * Delete a character by ID.
+     * Delete a character by ID and remove it from the in-memory indexes.
      */
     public void deleteCharacter(Long id) {
+        Optional<DndCharacter> previous = repository.findById(id).map(DndCharacter::copy);
         repository.deleteById(id);
+        characterCache.invalidate(id);
+        previous.ifPresent(characterIndexes::removed);
     }
 
     /**
@@ -90,10 +227,111 @@ public class DndCharacterService {
     }
 
     /**
-     * Search characters by name.
+     * Search characters by name (case insensitive substring match), ordered by id.
+     * Uses the trigram index to find matching ids; queries shorter than a trigram,
+     * or made before the index is built, fall back to a database scan.
      */
     public List<DndCharacter> searchByName(String name) {
-        return repository.findByNameContainingIgnoreCase(name);
+        if (name.length() < NameTrigramIndex.MIN_QUERY_LENGTH || !characterIndexes.isReady()) {
+            return repository.findByNameContainingIgnoreCase(name);
+        }
+        return loadInBatches(nameTrigramIndex.search(name), repository::findByIdInOrderByIdAsc);
+    }
+
+    /**
+     * Same as searchByName, but only with the columns shown in lists.
+     */
+    public List<CharacterSummary> searchSummariesByName(String name) {
+        if (name.length() < NameTrigramIndex.MIN_QUERY_LENGTH || !characterIndexes.isReady()) {
+            return repository.findByNameContainingIgnoreCase(name, CharacterSummary.class);
+        }
+        return loadInBatches(nameTrigramIndex.search(name),
+                batch -> repository.findByIdInOrderByIdAsc(batch, CharacterSummary.class));
+    }
+
+    /**
+     * Load rows for sorted ids with one IN query per LOAD_BATCH_SIZE ids, keeping the id order.
+     */
+    private static <T> List<T> loadInBatches(long[] ids, Function<List<Long>, List<T>> loader) {
+        List<T> rows = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += LOAD_BATCH_SIZE) {
+            List<Long> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            for (int i = from; i < Math.min(ids.length, from + LOAD_BATCH_SIZE); i++) {
+                batch.add(ids[i]);
+            }
+            rows.addAll(loader.apply(batch));
+        }
+        return rows;
+    }
+
+    /**
+     * Suggest characters whose name starts with the prefix, highest level first.
+     * Answered from memory without touching the database.
+     */
+    public List<NameSuggestion> suggestNames(String prefix, int limit) {
+        return nameAutocompleteIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * Counts per race, class and level and ability distributions over all saved characters.
+     * Maintained on every write, so no table scan is needed.
+     */
+    public RosterStatistics getRosterStatistics() {
+        return rosterStatistics.snapshot();
+    }
+
+    /**
+     * Count the characters matching the criteria with a scan over the in-memory columnar roster,
+     * returning the ids of the first matches; the limit is clamped to 0..MAX_SCAN_IDS.
+     */
+    public ScanResult scanCharacters(CharacterCriteria criteria, int limit) {
+        return columnarRoster.scan(criteria, Math.max(0, Math.min(limit, MAX_SCAN_IDS)));
+    }
+
+    /**
+     * The k characters with ability scores closest to the given character's, nearest first,
+     * optionally only of one class; k is clamped to 1..MAX_SIMILAR.
+     * Empty if the character does not exist.
+     */
+    public Optional<List<SimilarCharacter>> findSimilarCharacters(Long id, int k, String characterClass) {
+        return getCharacterById(id).map(anchor -> {
+            List<AbilitySimilarityIndex.Neighbor> neighbors = similarityIndex.nearest(
+                    anchor, Math.max(1, Math.min(k, MAX_SIMILAR)), characterClass);
+            long[] ids = neighbors.stream().mapToLong(AbilitySimilarityIndex.Neighbor::getId).sorted().toArray();
+            Map<Long, CharacterSummary> summaries = new HashMap<>();
+            for (CharacterSummary summary : loadInBatches(ids,
+                    batch -> repository.findByIdInOrderByIdAsc(batch, CharacterSummary.class))) {
+                summaries.put(summary.getId(), summary);
+            }
+            List<SimilarCharacter> similar = new ArrayList<>(neighbors.size());
+            for (AbilitySimilarityIndex.Neighbor neighbor : neighbors) {
+                CharacterSummary summary = summaries.get(neighbor.getId());
+                if (summary != null) {
+                    similar.add(new SimilarCharacter(summary, Math.sqrt(neighbor.getSquaredDistance())));
+                }
+            }
+            return similar;
+        });
+    }
+
+    /**
+     * Races used by at least one saved character, alphabetically.
+     */
+    public List<String> findRacesInUse() {
+        if (!characterIndexes.isReady()) {
+            return repository.findDistinctRaces();
+        }
+        return rosterStatistics.getRaces();
+    }
+
+    /**
+     * Classes used by at least one saved character, alphabetically.
+     */
+    public List<String> findClassesInUse() {
+        if (!characterIndexes.isReady()) {
+            return repository.findDistinctCharacterClasses();
+        }
+        return rosterStatistics.getClasses();
     }
 
     /**
@@ -110,73 +348,170 @@ public class DndCharacterService {
         return CLASSES;
     }
 
+    /**
+     * Get available races and classes, keyed "races" and "classes".
+     */
+    public Map<String, List<String>> getCharacterOptions() {
+        return OPTIONS;
+    }
+
+    /**
+     * Entity tag of the options; changes only when the race or class lists change.
+     */
+    public String getCharacterOptionsETag() {
+        return OPTIONS_ETAG;
+    }
+
+    /**
+     * Number of characters generated since startup.
+     */
+    public long getGeneratedCount() {
+        return generatedCount.sum();
+    }
+
+    /**
+     * Generated names drawn again because a saved character probably had them already.
+     */
+    public long getRedrawnNameCount() {
+        return redrawnNames.sum();
+    }
+
+    /**
+     * Generated names the name filter reported as taken on every attempt, but the database did not.
+     */
+    public long getFalsePositiveNameCount() {
+        return falsePositiveNames.sum();
+    }
+
+    /**
+     * Generated names kept although the database confirmed a saved character already had them.
+     */
+    public long getDuplicateNameCount() {
+        return duplicateNames.sum();
+    }
+
     /**
      * Generate a random character.
+     * Uses the calling thread's own random source, so concurrent callers never contend.
      */
     public DndCharacter generateRandomCharacter() {
+        return generateRandomCharacter(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Generate a reproducible random character: the same seed always gives the same character,
+     * except that a name already taken by a saved character is replaced by another.
+     */
+    public DndCharacter generateRandomCharacter(long seed) {
+        return generateRandomCharacter(new SplittableRandom(seed));
+    }
+
+    /**
+     * Generate a random character drawing every value from the given random source.
+     * The source is only used by the calling thread.
+     */
+    public DndCharacter generateRandomCharacter(RandomGenerator random) {
+        return generateRandomCharacter(random, new StringBuilder(BackgroundGenerator.INITIAL_CAPACITY));
+    }
+
+    /**
+     * Same as generateRandomCharacter(random), writing the name and background through the given
+     * buffer, which is cleared first. Bulk generation passes one buffer for all of its characters.
+     */
+    public DndCharacter generateRandomCharacter(RandomGenerator random, StringBuilder buffer) {
+        return generateRandomCharacter(random, buffer, null);
+    }
+
+    /**
+     * Same as generateRandomCharacter(random, buffer), also avoiding the names in pendingNames:
+     * lower-cased names of characters generated but not saved yet, which the name filter does
+     * not know about. The new name is added to it. Bulk generation passes the names of its chunk.
+     */
+    public DndCharacter generateRandomCharacter(RandomGenerator random, StringBuilder buffer,
+                                                Set<String> pendingNames) {
+        generatedCount.increment();
         DndCharacter character = new DndCharacter();
         
-        // Generate random name
-        character.setName(generateRandomName());
+        // Random race, and a name in the style of that race that no saved character has yet.
+        // Names come from their own stream, seeded by a single draw, so redrawing a taken name
+        // does not change any of the values drawn after it
+        int race = random.nextInt(RACES.size());
+        character.setRace(RACES.get(race));
+        SplittableRandom nameRandom = new SplittableRandom(random.nextLong());
+        character.setName(generateUniqueName(raceNameModels[race], nameRandom, buffer, pendingNames));
         
-        // Random race and class
-        character.setRace(RACES.get(random.nextInt(RACES.size())));
+        // Random class
         character.setCharacterClass(CLASSES.get(random.nextInt(CLASSES.size())));
         
         // Random level (1-10 for new characters)
         character.setLevel(random.nextInt(10) + 1);
         
         // Generate ability scores using 4d6 drop lowest method
-        character.setStrength(rollAbilityScore());
-        character.setDexterity(rollAbilityScore());
-        character.setConstitution(rollAbilityScore());
-        character.setIntelligence(rollAbilityScore());
-        character.setWisdom(rollAbilityScore());
-        character.setCharisma(rollAbilityScore());
+        character.setStrength(abilityScoreRoller.roll(random));
+        character.setDexterity(abilityScoreRoller.roll(random));
+        character.setConstitution(abilityScoreRoller.roll(random));
+        character.setIntelligence(abilityScoreRoller.roll(random));
+        character.setWisdom(abilityScoreRoller.roll(random));
+        character.setCharisma(abilityScoreRoller.roll(random));
         
         // Generate background
-        character.setBackground(generateBackground(character));
+        buffer.setLength(0);
+        backgroundGenerator.appendBackground(character, random, buffer);
+        character.setBackground(buffer.toString());
         
         return character;
     }
 
     /**
-     * Generate a random name.
+     * Draw names until one is not in the name filter, which holds the names of all saved characters.
+     * Checking a draw is a few memory reads, so collisions are retried without the database.
+     * Popular names come up again soon (a third of single names collide with 10,000 saved), so after
+     * SINGLE_NAME_ATTEMPTS a family name from the same chain is added. Only when all MAX_NAME_ATTEMPTS
+     * draws hit is the last one checked against the database: a false positive is kept as it is,
+     * and a real duplicate is kept too, as names need not be unique.
+     * Names generated but not saved yet are not in the filter, so they are checked in pendingNames.
      */
-    private String generateRandomName() {
-        String prefix = NAME_PREFIXES.get(random.nextInt(NAME_PREFIXES.size()));
-        String suffix = NAME_SUFFIXES.get(random.nextInt(NAME_SUFFIXES.size()));
-        return prefix + suffix;
+    private String generateUniqueName(int model, RandomGenerator random, StringBuilder buffer,
+                                      Set<String> pendingNames) {
+        for (int attempt = 1; ; attempt++) {
+            buffer.setLength(0);
+            nameGenerator.appendName(model, random, buffer);
+            if (attempt > SINGLE_NAME_ATTEMPTS) {
+                buffer.append(' ');
+                nameGenerator.appendName(model, random, buffer);
+            }
+            if (!nameFilter.mightContain(buffer) && !isPending(buffer, pendingNames)) {
+                return accept(buffer.toString(), pendingNames);
+            }
+            if (attempt == MAX_NAME_ATTEMPTS) {
+                break;
+            }
+            redrawnNames.increment();
+        }
+        String name = buffer.toString();
+        if (repository.existsByNameIgnoreCase(name)) {
+            duplicateNames.increment();
+        } else {
+            falsePositiveNames.increment();
+        }
+        return accept(name, pendingNames);
     }
 
-    /**
-     * Roll an ability score using 4d6 drop lowest method.
-     */
-    private int rollAbilityScore() {
-        int[] rolls = new int[4];
-        for (int i = 0; i < 4; i++) {
-            rolls[i] = random.nextInt(6) + 1;
+    private static boolean isPending(StringBuilder name, Set<String> pendingNames) {
+        return pendingNames != null && pendingNames.contains(name.toString().toLowerCase(Locale.ROOT));
+    }
+
+    private static String accept(String name, Set<String> pendingNames) {
+        if (pendingNames != null) {
+            pendingNames.add(name.toLowerCase(Locale.ROOT));
         }
-        Arrays.sort(rolls);
-        // Sum the top 3 dice
-        return rolls[1] + rolls[2] + rolls[3];
+        return name;
     }
 
     /**
-     * Generate a simple background story.
+     * Clamp a requested page size to the allowed range.
      */
-    private String generateBackground(DndCharacter character) {
-        String[] origins = {"a small village", "a bustling city", "a nomadic tribe", "a secluded monastery", "a noble house"};
-        String[] motivations = {"seeks glory", "searches for lost family", "wants revenge", "desires knowledge", "pursues justice"};
-        
-        String origin = origins[random.nextInt(origins.length)];
-        String motivation = motivations[random.nextInt(motivations.length)];
-        
-        return String.format("%s is a %s %s from %s who %s.", 
-                character.getName(), 
-                character.getRace(), 
-                character.getCharacterClass(), 
-                origin, 
-                motivation);
+    static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 }
@@ -0,0 +1,225 @@
+package com.schoolproject.dnd.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Character names from order-2 Markov chains trained on per-race name lists
+ * (names/&lt;race&gt;.txt, e.g. names/half-elf.txt). Each model predicts the next
+ * letter from the previous two. At startup the letter counts are compiled into flat
+ * primitive arrays: for each two-letter state, a run of its possible next letters with
+ * each letter repeated as often as it was seen (the inverse of the state's cumulative
+ * distribution). Generating a letter is one random number scaled to the run length and
+ * one array read: no map lookups, no search, and nothing allocated but the final String.
+ * A model trained on all corpora together serves races without a corpus of their own.
+ * The corpora are chosen with the dnd.generator.name-corpora property.
+ */
+@Component
+public class MarkovNameGenerator {
+
+    public static final String DEFAULT_CORPORA = "classpath:names/*.txt";
+
+    // Names the chain would end outside these lengths are redrawn
+    static final int MIN_LENGTH = 4;
+    static final int MAX_LENGTH = 12;
+    private static final int MAX_ATTEMPTS = 20;
+
+    // Letters a name may contain; END marks the end of a name and pads its start
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz'-";
+    private static final char[] LOWER = LETTERS.toCharArray();
+    private static final char[] UPPER = LETTERS.toUpperCase(Locale.ROOT).toCharArray();
+    private static final int END = LETTERS.length();
+    private static final int SYMBOLS = END + 1;
+    private static final int STATES = SYMBOLS * SYMBOLS;
+
+    // Model numbers by lower-case race name
+    private final Map<String, Integer> models = new HashMap<>();
+    private final int commonModel;
+
+    // By state (model, then previous two letters): where its run of next letters starts, and its length
+    private final int[] runStarts;
+    private final int[] runLengths;
+    // The runs of next letters of every state, back to back
+    private final byte[] nextLetters;
+
+    /**
+     * Train on the corpora shipped with the application.
+     */
+    public MarkovNameGenerator() {
+        this(defaultCorpora());
+    }
+
+    @Autowired
+    public MarkovNameGenerator(@Value("${dnd.generator.name-corpora:" + DEFAULT_CORPORA + "}") Resource[] corpora) {
+        List<List<String>> names = new ArrayList<>();
+        List<String> everyName = new ArrayList<>();
+        for (Resource corpus : corpora) {
+            String file = corpus.getFilename();
+            if (file == null || !file.endsWith(".txt")) {
+                continue;
+            }
+            List<String> corpusNames = read(corpus);
+            if (corpusNames.isEmpty()) {
+                continue;
+            }
+            models.put(file.substring(0, file.length() - 4).toLowerCase(Locale.ROOT), names.size());
+            names.add(corpusNames);
+            everyName.addAll(corpusNames);
+        }
+        if (everyName.isEmpty()) {
+            throw new IllegalStateException("No names to train on in " + Arrays.toString(corpora));
+        }
+        commonModel = names.size();
+        names.add(everyName);
+
+        int[] counts = new int[names.size() * STATES * SYMBOLS];
+        for (int model = 0; model < names.size(); model++) {
+            count(model * STATES, names.get(model), counts);
+        }
+        runStarts = new int[names.size() * STATES];
+        runLengths = new int[names.size() * STATES];
+        nextLetters = compile(counts);
+    }
+
+    /**
+     * Model number for a race, to pass to appendName; races without a corpus share the common model.
+     */
+    public int model(String race) {
+        Integer model = race != null ? models.get(race.toLowerCase(Locale.ROOT)) : null;
+        return model != null ? model : commonModel;
+    }
+
+    /**
+     * A new name for a character of the race.
+     */
+    public String generate(String race, RandomGenerator random) {
+        StringBuilder out = new StringBuilder(MAX_LENGTH);
+        appendName(model(race), random, out);
+        return out.toString();
+    }
+
+    /**
+     * Append a new name from the model to out: capitalized, and MIN_LENGTH to MAX_LENGTH letters
+     * long where the chain ends on its own. After a few failed attempts the last one is kept,
+     * cut at MAX_LENGTH, so a corpus of very short or very long names still works.
+     */
+    public void appendName(int model, RandomGenerator random, StringBuilder out) {
+        int start = out.length();
+        int base = model * STATES;
+        for (int attempt = 1; ; attempt++) {
+            out.setLength(start);
+            int previous = END;
+            int current = END;
+            int length = 0;
+            boolean capitalize = true;
+            boolean ended = false;
+            while (!ended && length <= MAX_LENGTH) {
+                int next = nextSymbol(base + previous * SYMBOLS + current, random);
+                if (next == END) {
+                    ended = true;
+                } else if (length < MAX_LENGTH) {
+                    out.append(capitalize ? UPPER[next] : LOWER[next]);
+                    capitalize = LOWER[next] == '-';
+                    previous = current;
+                    current = next;
+                    length++;
+                } else {
+                    break;
+                }
+            }
+            if ((ended && length >= MIN_LENGTH) || attempt == MAX_ATTEMPTS) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Draw the next letter after a state: a random position in its run, by scaling 32 random bits.
+     */
+    private int nextSymbol(int state, RandomGenerator random) {
+        long bits = random.nextInt() & 0xFFFFFFFFL;
+        return nextLetters[runStarts[state] + (int) ((bits * runLengths[state]) >>> 32)];
+    }
+
+    /**
+     * Count every letter after each pair of letters in the names.
+     */
+    private static void count(int firstState, List<String> names, int[] counts) {
+        for (String name : names) {
+            int previous = END;
+            int current = END;
+            for (int i = 0; i <= name.length(); i++) {
+                int next = i < name.length() ? LETTERS.indexOf(name.charAt(i)) : END;
+                counts[(firstState + previous * SYMBOLS + current) * SYMBOLS + next]++;
+                previous = current;
+                current = next;
+            }
+        }
+    }
+
+    /**
+     * Lay out the run of next letters of every state, filling in runStarts and runLengths.
+     */
+    private byte[] compile(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        byte[] letters = new byte[total];
+        int position = 0;
+        for (int state = 0; state < runStarts.length; state++) {
+            runStarts[state] = position;
+            for (int symbol = 0; symbol < SYMBOLS; symbol++) {
+                for (int n = counts[state * SYMBOLS + symbol]; n > 0; n--) {
+                    letters[position++] = (byte) symbol;
+                }
+            }
+            runLengths[state] = position - runStarts[state];
+        }
+        return letters;
+    }
+
+    /**
+     * Names of a corpus in lower case, skipping comments and names with letters outside LETTERS.
+     */
+    private static List<String> read(Resource corpus) {
+        List<String> names = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(corpus.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String name = line.strip().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty() && !name.startsWith("#") && name.chars().allMatch(c -> LETTERS.indexOf(c) >= 0)) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read name corpus " + corpus.getDescription(), e);
+        }
+        return names;
+    }
+
+    private static Resource[] defaultCorpora() {
+        try {
+            return new PathMatchingResourcePatternResolver().getResources(DEFAULT_CORPORA);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list name corpora " + DEFAULT_CORPORA, e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.NameSuggestion;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix autocomplete over character names, backed by a radix tree
+ * (a trie whose single-child chains are collapsed into one edge).
+ * Each node remembers the highest level in its subtree, so the best matches
+ * for a prefix are found best-first without visiting the whole subtree.
+ * Matches are ranked by level (highest first), then name, then id.
+ */
+@Component
+public class NameAutocompleteIndex implements CharacterIndex {
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator
+            .comparingInt((Entry e) -> -e.level)
+            .thenComparingLong(e -> e.id);
+
+    private static final Comparator<Candidate> CANDIDATE_ORDER = Comparator
+            .comparingInt((Candidate c) -> -c.level)
+            .thenComparing(c -> c.key)
+            .thenComparing(c -> c.node == null)
+            .thenComparingLong(c -> c.node == null ? c.entry.id : 0);
+
+    private Node root = new Node("");
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(DndCharacter character) {
+        if (character.getName() == null) {
+            return;
+        }
+        Entry entry = new Entry(character.getId(), character.getName(), character.getLevel());
+        lock.writeLock().lock();
+        try {
+            insert(root, normalize(character.getName()), 0, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(DndCharacter character) {
+        if (character.getName() == null) {
+            return;
+        }
+        Entry entry = new Entry(character.getId(), character.getName(), character.getLevel());
+        lock.writeLock().lock();
+        try {
+            delete(root, normalize(character.getName()), 0, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Characters whose name starts with the prefix (ignoring case), best ranked first.
+     */
+    public List<NameSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<NameSuggestion> suggestions = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            // Walk down to the node covering the prefix; the prefix may end inside an edge
+            Node node = root;
+            String nodeKey = "";
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    return suggestions;
+                }
+                String rest = key.substring(i);
+                if (rest.length() <= child.label.length()) {
+                    if (!child.label.startsWith(rest)) {
+                        return suggestions;
+                    }
+                } else if (!rest.startsWith(child.label)) {
+                    return suggestions;
+                }
+                node = child;
+                nodeKey += child.label;
+                i += child.label.length();
+            }
+
+            // Best-first search: a node's key ranks no lower than any entry below it
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(CANDIDATE_ORDER);
+            if (node.maxLevel > 0) {
+                queue.add(Candidate.ofNode(node, nodeKey));
+            }
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.node != null) {
+                    Node current = candidate.node;
+                    if (current.entries != null) {
+                        Iterator<Entry> entries = current.entries.iterator();
+                        queue.add(Candidate.ofEntry(entries.next(), entries, candidate.key));
+                    }
+                    for (Node child : current.children.values()) {
+                        queue.add(Candidate.ofNode(child, candidate.key + child.label));
+                    }
+                } else {
+                    Entry entry = candidate.entry;
+                    suggestions.add(new NameSuggestion(entry.id, entry.name, entry.level));
+                    if (candidate.entries.hasNext()) {
+                        queue.add(Candidate.ofEntry(candidate.entries.next(), candidate.entries, candidate.key));
+                    }
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Node node, String key, int i, Entry entry) {
+        if (i == key.length()) {
+            if (node.entries == null) {
+                node.entries = new TreeSet<>(ENTRY_ORDER);
+            }
+            node.entries.add(entry);
+        } else {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+            } else {
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // Split the edge: node -> middle -> (old child, new branch)
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children.put(child.label.charAt(0), child);
+                    middle.maxLevel = child.maxLevel;
+                    node.children.put(middle.label.charAt(0), middle);
+                    child = middle;
+                }
+            }
+            insert(child, key, i + child.label.length(), entry);
+        }
+        node.updateMaxLevel();
+    }
+
+    private boolean delete(Node node, String key, int i, Entry entry) {
+        if (i == key.length()) {
+            if (node.entries == null || !node.entries.remove(entry)) {
+                return false;
+            }
+            if (node.entries.isEmpty()) {
+                node.entries = null;
+            }
+            node.updateMaxLevel();
+            return true;
+        }
+        Node child = node.children.get(key.charAt(i));
+        if (child == null || !key.startsWith(child.label, i)
+                || !delete(child, key, i + child.label.length(), entry)) {
+            return false;
+        }
+        // Drop empty nodes and merge pass-through nodes back into a single edge
+        if (child.entries == null && child.children.isEmpty()) {
+            node.children.remove(child.label.charAt(0));
+        } else if (child.entries == null && child.children.size() == 1) {
+            Node grandchild = child.children.values().iterator().next();
+            grandchild.label = child.label + grandchild.label;
+            node.children.put(grandchild.label.charAt(0), grandchild);
+        }
+        node.updateMaxLevel();
+        return true;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A radix tree node; the full key is the concatenation of the labels from the root.
+     */
+    private static class Node {
+        String label;
+        final Map<Character, Node> children = new HashMap<>(4);
+        TreeSet<Entry> entries;
+        int maxLevel;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void updateMaxLevel() {
+            int max = entries != null ? entries.first().level : 0;
+            for (Node child : children.values()) {
+                max = Math.max(max, child.maxLevel);
+            }
+            maxLevel = max;
+        }
+    }
+
+    /**
+     * A character stored under its name.
+     */
+    private static class Entry {
+        final long id;
+        final String name;
+        final int level;
+
+        Entry(long id, String name, int level) {
+            this.id = id;
+            this.name = name;
+            this.level = level;
+        }
+    }
+
+    /**
+     * Either a subtree still to expand or the next entry of a node's entry set.
+     */
+    private static class Candidate {
+        final int level;
+        final String key;
+        final Node node;
+        final Entry entry;
+        final Iterator<Entry> entries;
+
+        private Candidate(int level, String key, Node node, Entry entry, Iterator<Entry> entries) {
+            this.level = level;
+            this.key = key;
+            this.node = node;
+            this.entry = entry;
+            this.entries = entries;
+        }
+
+        static Candidate ofNode(Node node, String key) {
+            return new Candidate(node.maxLevel, key, node, null, null);
+        }
+
+        static Candidate ofEntry(Entry entry, Iterator<Entry> rest, String key) {
+            return new Candidate(entry.level, key, null, entry, rest);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive trigram index over character names.
+ * Every lower-cased name is split into overlapping three-character sequences,
+ * and each trigram maps to the sorted ids of the names containing it. A substring
+ * search intersects the id lists of the query's trigrams, then checks the few
+ * remaining names, instead of scanning the table with LIKE '%x%'.
+ */
+@Component
+public class NameTrigramIndex implements CharacterIndex {
+
+    // Queries shorter than this have no trigram and cannot use the index
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            namesById.clear();
+            postingsByTrigram.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(DndCharacter character) {
+        if (character.getName() == null) {
+            return;
+        }
+        String name = normalize(character.getName());
+        lock.writeLock().lock();
+        try {
+            removeLocked(character.getId());
+            namesById.put(character.getId(), name);
+            for (long trigram : trigrams(name)) {
+                postingsByTrigram.computeIfAbsent(trigram, t -> new Postings()).add(character.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(DndCharacter character) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(character.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an id using the name it was indexed under; the write lock must be held.
+     */
+    private void removeLocked(Long id) {
+        String name = namesById.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (long trigram : trigrams(name)) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                postingsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Ids of all characters whose name contains the query, ignoring case, in ascending order.
+     * The query must be at least MIN_QUERY_LENGTH characters long.
+     */
+    public long[] search(String query) {
+        String needle = normalize(query);
+        if (needle.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Query must have at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> trigrams = trigrams(needle);
+            Postings[] lists = new Postings[trigrams.size()];
+            int i = 0;
+            for (long trigram : trigrams) {
+                Postings postings = postingsByTrigram.get(trigram);
+                if (postings == null) {
+                    return new long[0];
+                }
+                lists[i++] = postings;
+            }
+            // Start from the rarest trigram so the candidate set is as small as possible
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+            long[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int count = candidates.length;
+            for (int l = 1; l < lists.length && count > 0; l++) {
+                count = retainAll(candidates, count, lists[l]);
+            }
+            // A name can contain all trigrams of the query without containing the query itself
+            int matches = 0;
+            for (int c = 0; c < count; c++) {
+                if (needle.length() == MIN_QUERY_LENGTH || namesById.get(candidates[c]).contains(needle)) {
+                    candidates[matches++] = candidates[c];
+                }
+            }
+            return Arrays.copyOf(candidates, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keep only the first count candidates that also appear in the postings; returns the new count.
+     */
+    private static int retainAll(long[] candidates, int count, Postings postings) {
+        int kept = 0;
+        for (int c = 0; c < count; c++) {
+            if (postings.contains(candidates[c])) {
+                candidates[kept++] = candidates[c];
+            }
+        }
+        return kept;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of a normalized string, each packed into a long (three 16-bit chars).
+     */
+    private static Set<Long> trigrams(String s) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + MIN_QUERY_LENGTH <= s.length(); i++) {
+            trigrams.add(((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Sorted, growable list of ids. Ids are assigned in increasing order, so adds are almost always appends.
+     */
+    private static class Postings {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            int pos = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                pos = -pos - 1;
+            } else if (pos < size) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Counting Bloom filter over the names of saved characters, ignoring case, so the
+ * generator can tell without a database query that a new name is not taken yet.
+ * A name is hashed to a few of the 4-bit counters packed sixteen to a long; adding a
+ * name increments its counters and removing it decrements them, so deletes and renames
+ * are supported. A miss is certain, a hit only likely: at the expected number of names,
+ * about one unused name in a hundred (the configured false-positive rate) also hits.
+ * A counter that reaches 15 stays there, so removals never cause false misses.
+ */
+@Component
+public class NameUniquenessFilter implements CharacterIndex {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final long[] counters;
+    private final int counterCount;
+    private final int hashCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Names added and not removed, and counters above zero, for the false-positive estimate
+    private long names;
+    private long usedCounters;
+
+    /**
+     * Size the filter so that with expectedNames names a name not in it hits with the given probability.
+     */
+    @Autowired
+    public NameUniquenessFilter(
+            @Value("${dnd.generator.name-filter.expected-names:1000000}") int expectedNames,
+            @Value("${dnd.generator.name-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedNames < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Invalid name filter size: " + expectedNames
+                    + " names at false-positive rate " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long optimalCounters = (long) Math.ceil(-expectedNames * Math.log(falsePositiveRate) / (ln2 * ln2));
+        counterCount = (int) Math.min(optimalCounters, Integer.MAX_VALUE - COUNTERS_PER_WORD);
+        hashCount = Math.max(1, (int) Math.round((double) counterCount / expectedNames * ln2));
+        counters = new long[(counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD];
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(counters, 0);
+            names = 0;
+            usedCounters = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(DndCharacter character) {
+        if (character.getName() == null) {
+            return;
+        }
+        long hash = hash(character.getName());
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < hashCount; i++) {
+                int counter = counterIndex(hash, i);
+                long value = counter(counter);
+                if (value == 0) {
+                    usedCounters++;
+                }
+                if (value < COUNTER_MASK) {
+                    setCounter(counter, value + 1);
+                }
+            }
+            names++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(DndCharacter character) {
+        if (character.getName() == null) {
+            return;
+        }
+        long hash = hash(character.getName());
+        lock.writeLock().lock();
+        try {
+            // A name with a zero counter was never added, so there is nothing to remove
+            if (names == 0 || !contains(hash)) {
+                return;
+            }
+            for (int i = 0; i < hashCount; i++) {
+                int counter = counterIndex(hash, i);
+                long value = counter(counter);
+                // A saturated counter may be shared by more names than it shows, so it stays
+                if (value < COUNTER_MASK) {
+                    setCounter(counter, value - 1);
+                    if (value == 1) {
+                        usedCounters--;
+                    }
+                }
+            }
+            names--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a saved character may have this name, ignoring case. False is certain;
+     * true is wrong with about the estimated false-positive rate.
+     */
+    public boolean mightContain(CharSequence name) {
+        long hash = hash(name);
+        lock.readLock().lock();
+        try {
+            return contains(hash);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Chance that a name not in the filter hits, estimated from the share of counters in use.
+     * It rises above the configured rate once the filter holds more names than it was sized for.
+     */
+    public double getEstimatedFalsePositiveRate() {
+        lock.readLock().lock();
+        try {
+            return Math.pow((double) usedCounters / counterCount, hashCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names currently in the filter, counting every character with the name.
+     */
+    public long getNameCount() {
+        lock.readLock().lock();
+        try {
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap used by the counters, in bytes.
+     */
+    public long getMemoryBytes() {
+        return (long) counters.length * Long.BYTES;
+    }
+
+    private boolean contains(long hash) {
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(counterIndex(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long counter(int counter) {
+        return (counters[counter / COUNTERS_PER_WORD] >>> (counter % COUNTERS_PER_WORD * COUNTER_BITS)) & COUNTER_MASK;
+    }
+
+    private void setCounter(int counter, long value) {
+        int word = counter / COUNTERS_PER_WORD;
+        int shift = counter % COUNTERS_PER_WORD * COUNTER_BITS;
+        counters[word] = (counters[word] & ~(COUNTER_MASK << shift)) | (value << shift);
+    }
+
+    /**
+     * The i-th counter of a name (double hashing), mapped onto the counters by multiply-shift.
+     */
+    private int counterIndex(long hash, int i) {
+        int combined = (int) hash + i * ((int) (hash >>> 32) | 1);
+        return (int) (((combined & 0xFFFFFFFFL) * counterCount) >>> 32);
+    }
+
+    /**
+     * 64-bit FNV-1a over the lower-cased characters, finished with the MurmurHash3 mixer
+     * so that both halves are well distributed. Works on a StringBuilder without copying it.
+     */
+    private static long hash(CharSequence name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= Character.toLowerCase(name.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,122 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.SlowRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Wall time of one HTTP request split into phases: repository queries, view
+ * rendering and response serialization. It is kept as a request attribute, so
+ * code running for the request can add to it without passing it around.
+ * A request is handled by one thread at a time, so nothing here is synchronized.
+ */
+public class RequestTiming {
+
+    private static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private final Instant timestamp = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private long totalNanos;
+    private int queryCount;
+    private long queryNanos;
+    private long renderStartNanos;
+    private long renderNanos;
+    private long serializeStartNanos;
+    private long serializeNanos;
+
+    /**
+     * Start timing a request.
+     */
+    public static RequestTiming start(HttpServletRequest request) {
+        RequestTiming timing = new RequestTiming();
+        request.setAttribute(ATTRIBUTE, timing);
+        return timing;
+    }
+
+    /**
+     * Timing of the given request, or null if it is not timed.
+     */
+    public static RequestTiming of(HttpServletRequest request) {
+        return (RequestTiming) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Timing of the request handled by the calling thread, or null if there is none or it is not timed.
+     */
+    public static RequestTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (RequestTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    public void recordQuery(long nanos) {
+        queryCount++;
+        queryNanos += nanos;
+    }
+
+    public void startRender() {
+        renderStartNanos = System.nanoTime();
+    }
+
+    public void endRender() {
+        if (renderStartNanos != 0) {
+            renderNanos += System.nanoTime() - renderStartNanos;
+            renderStartNanos = 0;
+        }
+    }
+
+    public void startSerialize() {
+        serializeStartNanos = System.nanoTime();
+    }
+
+    public void endSerialize() {
+        if (serializeStartNanos != 0) {
+            serializeNanos += System.nanoTime() - serializeStartNanos;
+            serializeStartNanos = 0;
+        }
+    }
+
+    /**
+     * Stop the clock; returns the total time of the request in nanoseconds.
+     */
+    public long finish() {
+        totalNanos = System.nanoTime() - startNanos;
+        return totalNanos;
+    }
+
+    /**
+     * Value of the Server-Timing header, e.g. db;desc="2 queries";dur=4.1, serialize;dur=0.8, total;dur=6.3.
+     * Render and serialize are left out when the request had no such phase.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        header.append("db;desc=\"").append(queryCount).append(queryCount == 1 ? " query" : " queries")
+                .append("\";dur=").append(millis(queryNanos));
+        if (renderNanos > 0) {
+            header.append(", render;dur=").append(millis(renderNanos));
+        }
+        if (serializeNanos > 0) {
+            header.append(", serialize;dur=").append(millis(serializeNanos));
+        }
+        header.append(", total;dur=").append(millis(totalNanos));
+        return header.toString();
+    }
+
+    public SlowRequest toSlowRequest(String method, String uri, int status) {
+        return new SlowRequest(timestamp, method, uri, status, toMillis(totalNanos),
+                queryCount, toMillis(queryNanos), toMillis(renderNanos), toMillis(serializeNanos));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
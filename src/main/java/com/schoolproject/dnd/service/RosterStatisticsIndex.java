@@ -0,0 +1,116 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DerivedStats;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.RosterStatistics;
+import com.schoolproject.dnd.model.SimulationSummary.AbilityDistribution;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running counters over the roster: characters per race, class and level,
+ * and the sum and histogram of every ability score. Each write adjusts the
+ * counters by one character, so statistics never need a table scan.
+ */
+@Component
+public class RosterStatisticsIndex implements CharacterIndex {
+
+    private static final List<String> ABILITIES = DerivedStats.ABILITY_NAMES;
+
+    private long count;
+    private final Map<String, Long> raceCounts = new HashMap<>();
+    private final Map<String, Long> classCounts = new HashMap<>();
+    private final Map<Integer, Long> levelCounts = new HashMap<>();
+    private final long[] abilitySums = new long[ABILITIES.size()];
+    private final List<Map<Integer, Long>> abilityHistograms = new ArrayList<>();
+
+    public RosterStatisticsIndex() {
+        for (int a = 0; a < ABILITIES.size(); a++) {
+            abilityHistograms.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        count = 0;
+        raceCounts.clear();
+        classCounts.clear();
+        levelCounts.clear();
+        for (int a = 0; a < ABILITIES.size(); a++) {
+            abilitySums[a] = 0;
+            abilityHistograms.get(a).clear();
+        }
+    }
+
+    @Override
+    public synchronized void add(DndCharacter character) {
+        apply(character, 1);
+    }
+
+    @Override
+    public synchronized void remove(DndCharacter character) {
+        apply(character, -1);
+    }
+
+    private void apply(DndCharacter character, int delta) {
+        count += delta;
+        adjust(raceCounts, character.getRace(), delta);
+        adjust(classCounts, character.getCharacterClass(), delta);
+        adjust(levelCounts, character.getLevel(), delta);
+        int[] scores = scores(character);
+        for (int a = 0; a < ABILITIES.size(); a++) {
+            abilitySums[a] += (long) delta * scores[a];
+            adjust(abilityHistograms.get(a), scores[a], delta);
+        }
+    }
+
+    /**
+     * Add delta to a counter, dropping the key once it reaches zero.
+     */
+    private static <K> void adjust(Map<K, Long> counts, K key, int delta) {
+        counts.merge(key, (long) delta, (current, d) -> current + d == 0 ? null : current + d);
+    }
+
+    /**
+     * Races of at least one saved character, in alphabetical order.
+     */
+    public synchronized List<String> getRaces() {
+        return new ArrayList<>(new TreeMap<>(raceCounts).keySet());
+    }
+
+    /**
+     * Classes of at least one saved character, in alphabetical order.
+     */
+    public synchronized List<String> getClasses() {
+        return new ArrayList<>(new TreeMap<>(classCounts).keySet());
+    }
+
+    /**
+     * Consistent snapshot of all counters; keys are sorted.
+     */
+    public synchronized RosterStatistics snapshot() {
+        Map<String, AbilityDistribution> abilities = new LinkedHashMap<>();
+        for (int a = 0; a < ABILITIES.size(); a++) {
+            double mean = count > 0 ? (double) abilitySums[a] / count : 0;
+            abilities.put(ABILITIES.get(a), new AbilityDistribution(mean, sorted(abilityHistograms.get(a))));
+        }
+        return new RosterStatistics(count, sorted(raceCounts), sorted(classCounts), sorted(levelCounts), abilities);
+    }
+
+    private static <K> Map<K, Long> sorted(Map<K, Long> counts) {
+        return new LinkedHashMap<>(new TreeMap<>(counts));
+    }
+
+    private static int[] scores(DndCharacter character) {
+        return new int[]{
+                character.getStrength(), character.getDexterity(), character.getConstitution(),
+                character.getIntelligence(), character.getWisdom(), character.getCharisma()
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.schoolproject.dnd.service;
+
+/**
+ * Row-at-a-time column scans, used when the Vector API is not available
+ * and for the rows after the last full vector. The failing rows of each bitmap
+ * word are gathered in a register without branching on the values, then cleared
+ * with one write; words already cleared by an earlier predicate are skipped.
+ */
+class ScalarColumnScanner implements ColumnScanner {
+
+    @Override
+    public void atLeast(byte[] column, int rows, byte min, long[] bitmap) {
+        atLeast(column, 0, rows, min, bitmap);
+    }
+
+    @Override
+    public void between(short[] column, int rows, short min, short max, long[] bitmap) {
+        between(column, 0, rows, min, max, bitmap);
+    }
+
+    @Override
+    public void equalTo(short[] column, int rows, short value, long[] bitmap) {
+        equalTo(column, 0, rows, value, bitmap);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    static void atLeast(byte[] column, int from, int to, byte min, long[] bitmap) {
+        for (int row = from; row < to; row = nextWord(row, to)) {
+            int word = row >>> 6;
+            if (bitmap[word] != 0) {
+                long failed = 0;
+                for (int r = row, end = nextWord(row, to); r < end; r++) {
+                    // A shift by r uses only its low six bits, the position within the word
+                    failed |= (column[r] < min ? 1L : 0L) << r;
+                }
+                bitmap[word] &= ~failed;
+            }
+        }
+    }
+
+    static void between(short[] column, int from, int to, short min, short max, long[] bitmap) {
+        for (int row = from; row < to; row = nextWord(row, to)) {
+            int word = row >>> 6;
+            if (bitmap[word] != 0) {
+                long failed = 0;
+                for (int r = row, end = nextWord(row, to); r < end; r++) {
+                    short value = column[r];
+                    failed |= (value < min || value > max ? 1L : 0L) << r;
+                }
+                bitmap[word] &= ~failed;
+            }
+        }
+    }
+
+    static void equalTo(short[] column, int from, int to, short value, long[] bitmap) {
+        for (int row = from; row < to; row = nextWord(row, to)) {
+            int word = row >>> 6;
+            if (bitmap[word] != 0) {
+                long failed = 0;
+                for (int r = row, end = nextWord(row, to); r < end; r++) {
+                    failed |= (column[r] != value ? 1L : 0L) << r;
+                }
+                bitmap[word] &= ~failed;
+            }
+        }
+    }
+
+    /**
+     * First row of the next bitmap word, or to if that comes first.
+     */
+    private static int nextWord(int row, int to) {
+        return Math.min(to, ((row >>> 6) + 1) << 6);
+    }
+}
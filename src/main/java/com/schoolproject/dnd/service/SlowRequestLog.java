@@ -0,0 +1,64 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.SlowRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The most recent slow requests, kept in a fixed-size ring buffer:
+ * once full, each new sample overwrites the oldest one.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final SlowRequest[] samples;
+    private final long thresholdNanos;
+    private int next;
+    private int size;
+
+    @Autowired
+    public SlowRequestLog(@Value("${dnd.server-timing.slow-log-size:100}") int capacity,
+                          @Value("${dnd.server-timing.slow-threshold:500ms}") Duration threshold) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow request log size must be at least 1");
+        }
+        this.samples = new SlowRequest[capacity];
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    /**
+     * Whether a request that took this long counts as slow.
+     */
+    public boolean isSlow(long totalNanos) {
+        return totalNanos >= thresholdNanos;
+    }
+
+    public synchronized void record(SlowRequest sample) {
+        samples[next] = sample;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    /**
+     * Recorded samples, newest first.
+     */
+    public synchronized List<SlowRequest> getSamples() {
+        List<SlowRequest> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(samples[(next - i + samples.length) % samples.length]);
+        }
+        return recent;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(samples, null);
+        next = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.schoolproject.dnd.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws 4d6 drop lowest scores from a precomputed table of all 6^4 = 1296
+ * equally likely dice outcomes. One random number picks an outcome, so a roll
+ * costs a single RNG call and an array read, with exactly the same distribution
+ * as rolling the dice. This is the default roller.
+ */
+@Component
+@ConditionalOnProperty(name = "dnd.generator.ability-roller", havingValue = "table", matchIfMissing = true)
+public class TableAbilityScoreRoller implements AbilityScoreRoller {
+
+    static final int OUTCOMES = 6 * 6 * 6 * 6;
+
+    private static final byte[] SCORES = buildTable();
+
+    @Override
+    public int roll(RandomGenerator random) {
+        return SCORES[random.nextInt(OUTCOMES)];
+    }
+
+    /**
+     * Score for every combination of four dice, indexed by the combination number.
+     */
+    private static byte[] buildTable() {
+        byte[] scores = new byte[OUTCOMES];
+        for (int outcome = 0; outcome < OUTCOMES; outcome++) {
+            int sum = 0;
+            int lowest = 6;
+            int remaining = outcome;
+            for (int i = 0; i < 4; i++) {
+                int die = remaining % 6 + 1;
+                remaining /= 6;
+                sum += die;
+                lowest = Math.min(lowest, die);
+            }
+            scores[outcome] = (byte) (sum - lowest);
+        }
+        return scores;
+    }
+}
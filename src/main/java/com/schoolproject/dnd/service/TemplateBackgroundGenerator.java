@@ -0,0 +1,286 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Background stories from weighted templates in a data file (see stories/backgrounds.txt).
+ * Every template is parsed once into a plan of literal text and slot numbers, with
+ * section references resolved, so rendering only picks choices and appends strings
+ * and ints to the builder: no format parsing and no arrays built per character.
+ * The file is chosen with the dnd.generator.background-templates property.
+ */
+@Component
+public class TemplateBackgroundGenerator implements BackgroundGenerator {
+
+    public static final String DEFAULT_TEMPLATES = "stories/backgrounds.txt";
+
+    private static final String START_SECTION = "template";
+
+    // Slots filled from the character; sections get slot numbers from 0 up
+    private static final int NAME = -1;
+    private static final int RACE = -2;
+    private static final int CLASS = -3;
+    private static final int LEVEL = -4;
+    private static final Map<String, Integer> CHARACTER_SLOTS = Map.of(
+            "name", NAME, "race", RACE, "class", CLASS, "level", LEVEL);
+
+    private final Choices[] sections;
+    private final Choices start;
+
+    /**
+     * Load the templates shipped with the application.
+     */
+    public TemplateBackgroundGenerator() {
+        this(new ClassPathResource(DEFAULT_TEMPLATES));
+    }
+
+    @Autowired
+    public TemplateBackgroundGenerator(
+            @Value("${dnd.generator.background-templates:classpath:" + DEFAULT_TEMPLATES + "}") Resource templates) {
+        Map<String, List<Line>> lines = read(templates);
+        Map<String, Integer> sectionSlots = new LinkedHashMap<>();
+        for (String name : lines.keySet()) {
+            sectionSlots.put(name, sectionSlots.size());
+        }
+        if (!sectionSlots.containsKey(START_SECTION)) {
+            throw new IllegalStateException(templates.getDescription() + ": no [" + START_SECTION + "] section");
+        }
+        sections = new Choices[sectionSlots.size()];
+        for (Map.Entry<String, List<Line>> section : lines.entrySet()) {
+            sections[sectionSlots.get(section.getKey())] =
+                    compileSection(templates, section.getKey(), section.getValue(), sectionSlots);
+        }
+        checkForCycles(templates, sectionSlots);
+        start = sections[sectionSlots.get(START_SECTION)];
+    }
+
+    @Override
+    public void appendBackground(DndCharacter character, RandomGenerator random, StringBuilder out) {
+        render(start, character, random, out);
+    }
+
+    private void render(Choices choices, DndCharacter character, RandomGenerator random, StringBuilder out) {
+        Plan plan = choices.pick(random);
+        String[] literals = plan.literals;
+        int[] slots = plan.slots;
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            switch (slots[i]) {
+                case NAME -> out.append(character.getName());
+                case RACE -> out.append(character.getRace());
+                case CLASS -> out.append(character.getCharacterClass());
+                case LEVEL -> out.append(character.getLevel());
+                default -> render(sections[slots[i]], character, random, out);
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * Lines of each section, in file order; comments and blank lines are dropped.
+     */
+    private static Map<String, List<Line>> read(Resource templates) {
+        Map<String, List<Line>> sections = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(templates.getInputStream(), StandardCharsets.UTF_8))) {
+            List<Line> current = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                    String name = trimmed.substring(1, trimmed.length() - 1).strip();
+                    if (name.isEmpty() || CHARACTER_SLOTS.containsKey(name) || sections.containsKey(name)) {
+                        throw invalid(templates, lineNumber, "invalid or duplicate section [" + name + "]");
+                    }
+                    current = new ArrayList<>();
+                    sections.put(name, current);
+                } else if (current == null) {
+                    throw invalid(templates, lineNumber, "choice outside a section");
+                } else {
+                    current.add(new Line(lineNumber, trimmed));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read background templates " + templates.getDescription(), e);
+        }
+        return sections;
+    }
+
+    private static Choices compileSection(Resource templates, String name, List<Line> lines,
+                                          Map<String, Integer> sectionSlots) {
+        if (lines.isEmpty()) {
+            throw new IllegalStateException(templates.getDescription() + ": section [" + name + "] has no choices");
+        }
+        Plan[] plans = new Plan[lines.size()];
+        int[] weights = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            int lineNumber = lines.get(i).number;
+            String text = lines.get(i).text;
+
+            // An optional leading weight, separated from the text by whitespace
+            int weight = 1;
+            int end = 0;
+            while (end < text.length() && Character.isDigit(text.charAt(end))) {
+                end++;
+            }
+            if (end > 0 && end < text.length() && Character.isWhitespace(text.charAt(end))) {
+                weight = Integer.parseInt(text.substring(0, end));
+                text = text.substring(end).strip();
+                if (weight < 1) {
+                    throw invalid(templates, lineNumber, "weight must be at least 1");
+                }
+            }
+            weights[i] = weight;
+            plans[i] = compilePlan(templates, lineNumber, text, sectionSlots);
+        }
+        return new Choices(plans, weights);
+    }
+
+    /**
+     * Split text into the literals between slots and the slot numbers.
+     */
+    private static Plan compilePlan(Resource templates, int lineNumber, String text,
+                                    Map<String, Integer> sectionSlots) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = text.indexOf('{', position)) >= 0) {
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                throw invalid(templates, lineNumber, "unclosed slot in \"" + text + "\"");
+            }
+            String slotName = text.substring(open + 1, close).strip();
+            Integer slot = CHARACTER_SLOTS.containsKey(slotName)
+                    ? CHARACTER_SLOTS.get(slotName)
+                    : sectionSlots.get(slotName);
+            if (slot == null) {
+                throw invalid(templates, lineNumber, "unknown slot {" + slotName + "}");
+            }
+            literals.add(text.substring(position, open));
+            slots.add(slot);
+            position = close + 1;
+        }
+        literals.add(text.substring(position));
+        return new Plan(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Reject sections that can reach themselves, which would never finish rendering.
+     */
+    private void checkForCycles(Resource templates, Map<String, Integer> sectionSlots) {
+        List<String> names = new ArrayList<>(sectionSlots.keySet());
+        Set<Integer> done = new HashSet<>();
+        for (int section = 0; section < sections.length; section++) {
+            visit(templates, names, section, new HashSet<>(), done);
+        }
+    }
+
+    private void visit(Resource templates, List<String> names, int section, Set<Integer> path, Set<Integer> done) {
+        if (done.contains(section)) {
+            return;
+        }
+        if (!path.add(section)) {
+            throw new IllegalStateException(templates.getDescription()
+                    + ": section [" + names.get(section) + "] refers back to itself");
+        }
+        for (Plan plan : sections[section].plans) {
+            for (int slot : plan.slots) {
+                if (slot >= 0) {
+                    visit(templates, names, slot, path, done);
+                }
+            }
+        }
+        path.remove(section);
+        done.add(section);
+    }
+
+    private static IllegalStateException invalid(Resource templates, int lineNumber, String message) {
+        return new IllegalStateException(templates.getDescription() + " line " + lineNumber + ": " + message);
+    }
+
+    /**
+     * A choice as read from the file, with its line number for error messages.
+     */
+    private static class Line {
+        final int number;
+        final String text;
+
+        Line(int number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+    }
+
+    /**
+     * A compiled choice: literals[0], slot 0, literals[1], slot 1, ..., literals[n].
+     */
+    private static class Plan {
+        final String[] literals;
+        final int[] slots;
+
+        Plan(String[] literals, int[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * The choices of one section with their weights.
+     */
+    private static class Choices {
+        final Plan[] plans;
+        // Running totals of the weights, or null when all weights are equal
+        final int[] cumulativeWeights;
+        final int totalWeight;
+
+        Choices(Plan[] plans, int[] weights) {
+            this.plans = plans;
+            boolean uniform = true;
+            int[] cumulative = new int[weights.length];
+            int total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                uniform &= weights[i] == weights[0];
+                total += weights[i];
+                cumulative[i] = total;
+            }
+            this.cumulativeWeights = uniform ? null : cumulative;
+            this.totalWeight = total;
+        }
+
+        Plan pick(RandomGenerator random) {
+            if (cumulativeWeights == null) {
+                return plans[random.nextInt(plans.length)];
+            }
+            int target = random.nextInt(totalWeight);
+            int i = 0;
+            while (cumulativeWeights[i] <= target) {
+                i++;
+            }
+            return plans[i];
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.schoolproject.dnd.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Column scans with the JDK Vector API: each step compares a full vector of values
+ * (32 abilities or 16 levels with AVX2) and turns the lane mask into bits of the
+ * bitmap word. The lane count always divides 64, so a step never straddles two
+ * words, and a step whose bits are already clear is skipped without loading.
+ * Rows after the last full vector are scanned one at a time.
+ * Only loaded by ColumnScanner.create() once the module is known to be present.
+ */
+final class VectorColumnScanner implements ColumnScanner {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+
+    /**
+     * Whether masks of the preferred species fit in one bitmap word.
+     */
+    static boolean isSupported() {
+        return BYTES.length() <= Long.SIZE && SHORTS.length() <= Long.SIZE;
+    }
+
+    @Override
+    public void atLeast(byte[] column, int rows, byte min, long[] bitmap) {
+        int lanes = BYTES.length();
+        int bound = BYTES.loopBound(rows);
+        for (int row = 0; row < bound; row += lanes) {
+            if (bitmap[row >>> 6] != 0) {
+                VectorMask<Byte> passed = ByteVector.fromArray(BYTES, column, row).compare(VectorOperators.GE, min);
+                retain(bitmap, row, lanes, passed.toLong());
+            }
+        }
+        ScalarColumnScanner.atLeast(column, bound, rows, min, bitmap);
+    }
+
+    @Override
+    public void between(short[] column, int rows, short min, short max, long[] bitmap) {
+        int lanes = SHORTS.length();
+        int bound = SHORTS.loopBound(rows);
+        for (int row = 0; row < bound; row += lanes) {
+            if (bitmap[row >>> 6] != 0) {
+                ShortVector values = ShortVector.fromArray(SHORTS, column, row);
+                VectorMask<Short> passed = values.compare(VectorOperators.GE, min)
+                        .and(values.compare(VectorOperators.LE, max));
+                retain(bitmap, row, lanes, passed.toLong());
+            }
+        }
+        ScalarColumnScanner.between(column, bound, rows, min, max, bitmap);
+    }
+
+    @Override
+    public void equalTo(short[] column, int rows, short value, long[] bitmap) {
+        int lanes = SHORTS.length();
+        int bound = SHORTS.loopBound(rows);
+        for (int row = 0; row < bound; row += lanes) {
+            if (bitmap[row >>> 6] != 0) {
+                VectorMask<Short> passed = ShortVector.fromArray(SHORTS, column, row).compare(VectorOperators.EQ, value);
+                retain(bitmap, row, lanes, passed.toLong());
+            }
+        }
+        ScalarColumnScanner.equalTo(column, bound, rows, value, bitmap);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + BYTES.vectorBitSize();
+    }
+
+    /**
+     * Clear the bits of the lanes starting at row that did not pass.
+     */
+    private static void retain(long[] bitmap, int row, int lanes, long passed) {
+        int shift = row & 63;
+        long laneBits = lanes == Long.SIZE ? -1L : (1L << lanes) - 1;
+        bitmap[row >>> 6] &= ~(laneBits << shift) | (passed << shift);
+    }
+}
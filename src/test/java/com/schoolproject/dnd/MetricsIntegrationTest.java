@@ -0,0 +1,47 @@
+package com.schoolproject.dnd;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricsdb")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheusEndpoint_ShouldExposeMetricsForEveryLayer() throws Exception {
+        MvcResult generated = mockMvc.perform(post("/api/characters/generate"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Integer id = JsonPath.read(generated.getResponse().getContentAsString(), "$.id");
+        mockMvc.perform(get("/api/characters/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/characters/{id}", id)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getCharacterById\"")))
+                .andExpect(content().string(containsString("dnd_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("dnd_characters_generated_total 1.0")))
+                .andExpect(content().string(containsString("dnd_names_filter_memory_bytes ")))
+                .andExpect(content().string(containsString("dnd_names_filter_false_positive_rate ")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"characters\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending{")));
+    }
+}
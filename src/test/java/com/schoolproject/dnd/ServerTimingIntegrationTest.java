@@ -0,0 +1,60 @@
+package com.schoolproject.dnd;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:servertimingdb",
+        "dnd.server-timing.enabled=true",
+        "dnd.server-timing.slow-threshold=0ms"
+})
+@AutoConfigureMockMvc
+class ServerTimingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void jsonResponse_ReportsQueriesAndSerialization() throws Exception {
+        mockMvc.perform(get("/api/characters").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("db;desc=\"1 query\";dur=")))
+                .andExpect(header().string("Server-Timing", containsString(", serialize;dur=")))
+                .andExpect(header().string("Server-Timing", containsString(", total;dur=")))
+                .andExpect(header().string("Server-Timing", not(containsString("render"))));
+    }
+
+    @Test
+    void page_ReportsRendering() throws Exception {
+        MvcResult generated = mockMvc.perform(post("/api/characters/generate"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Integer id = JsonPath.read(generated.getResponse().getContentAsString(), "$.id");
+
+        mockMvc.perform(get("/characters/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString(", render;dur=")))
+                .andExpect(content().string(containsString("<html")));
+    }
+
+    @Test
+    void slowRequests_AreRecorded() throws Exception {
+        mockMvc.perform(get("/api/characters/options")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/slow-requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].uri").value("/api/characters/options"))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].queryCount").value(0));
+    }
+}
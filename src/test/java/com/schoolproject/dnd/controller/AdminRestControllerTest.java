@@ -0,0 +1,81 @@
+package com.schoolproject.dnd.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.schoolproject.dnd.model.CacheStatistics;
+import com.schoolproject.dnd.model.SlowRequest;
+import com.schoolproject.dnd.service.CharacterCache;
+import com.schoolproject.dnd.service.SlowRequestLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for AdminRestController.
+ */
+@WebMvcTest(AdminRestController.class)
+class AdminRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CharacterCache characterCache;
+
+    @MockBean
+    private SlowRequestLog slowRequestLog;
+
+    @Test
+    void getCacheStatistics_ReturnsCounters() throws Exception {
+        CacheStats stats = CacheStats.of(3, 1, 1, 0, 2_000_000, 5, 5);
+        when(characterCache.getStatistics()).thenReturn(new CacheStatistics(stats, 7, 100));
+
+        mockMvc.perform(get("/api/admin/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(3))
+                .andExpect(jsonPath("$.missCount").value(1))
+                .andExpect(jsonPath("$.hitRate").value(0.75))
+                .andExpect(jsonPath("$.evictionCount").value(5))
+                .andExpect(jsonPath("$.size").value(7))
+                .andExpect(jsonPath("$.maxSize").value(100));
+    }
+
+    @Test
+    void clearCache_InvalidatesAll() throws Exception {
+        mockMvc.perform(delete("/api/admin/cache"))
+                .andExpect(status().isNoContent());
+
+        verify(characterCache, times(1)).invalidateAll();
+    }
+
+    @Test
+    void getSlowRequests_ReturnsSamples() throws Exception {
+        SlowRequest sample = new SlowRequest(Instant.parse("2024-01-01T00:00:00Z"), "GET", "/characters/1",
+                200, 812.5, 3, 640.2, 150.1, 0.0);
+        when(slowRequestLog.getSamples()).thenReturn(List.of(sample));
+
+        mockMvc.perform(get("/api/admin/slow-requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].uri").value("/characters/1"))
+                .andExpect(jsonPath("$[0].totalMillis").value(812.5))
+                .andExpect(jsonPath("$[0].queryCount").value(3))
+                .andExpect(jsonPath("$[0].queryMillis").value(640.2))
+                .andExpect(jsonPath("$[0].renderMillis").value(150.1));
+    }
+
+    @Test
+    void clearSlowRequests_ClearsLog() throws Exception {
+        mockMvc.perform(delete("/api/admin/slow-requests"))
+                .andExpect(status().isNoContent());
+
+        verify(slowRequestLog, times(1)).clear();
+    }
+}
@@ -1,20 +1,42 @@
 package com.schoolproject.dnd.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolproject.dnd.model.BulkGenerationResult;
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.CharacterPage;
+import com.schoolproject.dnd.model.CharacterSummary;
 import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ImportReport;
+import com.schoolproject.dnd.model.NameSuggestion;
+import com.schoolproject.dnd.model.RosterStatistics;
+import com.schoolproject.dnd.model.ScanResult;
+import com.schoolproject.dnd.model.SimilarCharacter;
+import com.schoolproject.dnd.service.CharacterBulkService;
+import com.schoolproject.dnd.service.CharacterSimulationEngine;
 import com.schoolproject.dnd.service.DndCharacterService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,24 +53,92 @@ class CharacterRestControllerTest {
     @MockBean
     private DndCharacterService characterService;
 
+    @MockBean
+    private CharacterBulkService bulkService;
+
+    @MockBean
+    private CharacterSimulationEngine simulationEngine;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
-    void getAllCharacters_ReturnsListOfCharacters() throws Exception {
+    void getCharacters_ReturnsFirstPageWithCursor() throws Exception {
         DndCharacter character1 = createTestCharacter(1L, "Thorin", "Dwarf", "Fighter");
         DndCharacter character2 = createTestCharacter(2L, "Legolas", "Elf", "Ranger");
-        List<DndCharacter> characters = Arrays.asList(character1, character2);
+        CharacterPage<DndCharacter> page = new CharacterPage<>(Arrays.asList(character1, character2), 2L);
 
-        when(characterService.getAllCharacters()).thenReturn(characters);
+        when(characterService.getCharacterPage(null, 50)).thenReturn(page);
 
         mockMvc.perform(get("/api/characters"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].name").value("Thorin"))
-                .andExpect(jsonPath("$[1].name").value("Legolas"));
+                .andExpect(jsonPath("$.items[0].name").value("Thorin"))
+                .andExpect(jsonPath("$.items[1].name").value("Legolas"))
+                .andExpect(jsonPath("$.nextCursor").value(2));
+
+        verify(characterService, times(1)).getCharacterPage(null, 50);
+    }
+
+    @Test
+    void getCharacters_WithCursor_PassesAfterAndLimit() throws Exception {
+        DndCharacter character = createTestCharacter(3L, "Gimli", "Dwarf", "Fighter");
+        CharacterPage<DndCharacter> page = new CharacterPage<>(List.of(character), null);
+
+        when(characterService.getCharacterPage(2L, 10)).thenReturn(page);
+
+        mockMvc.perform(get("/api/characters").param("after", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Gimli"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(characterService, times(1)).getCharacterPage(2L, 10);
+    }
+
+    @Test
+    void queryCharacters_BindsCriteriaAndPaging() throws Exception {
+        DndCharacter character = createTestCharacter(4L, "Aria", "Elf", "Wizard");
+        when(characterService.queryCharacters(any(CharacterCriteria.class), eq(2L), eq(10)))
+                .thenReturn(new CharacterPage<>(List.of(character), null));
+
+        mockMvc.perform(get("/api/characters/query")
+                        .param("race", "Elf").param("characterClass", "Wizard")
+                        .param("minLevel", "3").param("minStrength", "12")
+                        .param("after", "2").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Aria"));
+
+        verify(characterService).queryCharacters(argThat(criteria -> "Elf".equals(criteria.getRace())
+                && "Wizard".equals(criteria.getCharacterClass())
+                && criteria.getMinLevel() == 3 && criteria.getMaxLevel() == null
+                && criteria.getMinStrength() == 12), eq(2L), eq(10));
+    }
+
+    @Test
+    void getCharacters_WithSummaryView_ReturnsSummaries() throws Exception {
+        CharacterSummary summary = summaryOf(createTestCharacter(1L, "Hero", "Human", "Fighter"));
+        when(characterService.getCharacterSummaryPage(null, DndCharacterService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new CharacterPage<>(List.of(summary), null));
+
+        mockMvc.perform(get("/api/characters").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Hero"))
+                .andExpect(jsonPath("$.items[0].strength").value(10))
+                .andExpect(jsonPath("$.items[0].background").doesNotExist());
+
+        verify(characterService, never()).getCharacterPage(any(), anyInt());
+    }
+
+    @Test
+    void searchCharacters_WithSummaryView_ReturnsSummaries() throws Exception {
+        CharacterSummary summary = summaryOf(createTestCharacter(1L, "Hero", "Human", "Fighter"));
+        when(characterService.searchSummariesByName("her")).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/api/characters/search").param("name", "her").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Hero"));
 
-        verify(characterService, times(1)).getAllCharacters();
+        verify(characterService, never()).searchByName(any());
     }
 
     @Test
@@ -132,20 +222,228 @@ class CharacterRestControllerTest {
     }
 
     @Test
-    void getOptions_ReturnsRacesAndClasses() throws Exception {
-        List<String> races = Arrays.asList("Human", "Elf", "Dwarf");
-        List<String> classes = Arrays.asList("Fighter", "Wizard", "Rogue");
+    void generateRandomCharacter_WithSeed_UsesSeededGenerator() throws Exception {
+        DndCharacter seededCharacter = createTestCharacter(1L, "Stormcaller", "Elf", "Bard");
+        when(characterService.generateRandomCharacter(42L)).thenReturn(seededCharacter);
+        when(characterService.saveCharacter(any(DndCharacter.class))).thenReturn(seededCharacter);
+
+        mockMvc.perform(post("/api/characters/generate").param("seed", "42"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Stormcaller"));
+
+        verify(characterService, times(1)).generateRandomCharacter(42L);
+        verify(characterService, never()).generateRandomCharacter();
+    }
+
+    @Test
+    void generateRandomCharacters_WithCount_ReturnsBulkResult() throws Exception {
+        when(bulkService.getMaxCount()).thenReturn(100_000);
+        when(bulkService.generateAndSave(500, null)).thenReturn(new BulkGenerationResult(500, 250));
+
+        mockMvc.perform(post("/api/characters/generate").param("count", "500"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(500))
+                .andExpect(jsonPath("$.rowsPerSecond").value(2000));
+
+        verify(characterService, never()).generateRandomCharacter();
+        verify(bulkService, times(1)).generateAndSave(500, null);
+    }
+
+    @Test
+    void generateRandomCharacters_WithCountAboveMax_ReturnsBadRequest() throws Exception {
+        when(bulkService.getMaxCount()).thenReturn(100_000);
+
+        mockMvc.perform(post("/api/characters/generate").param("count", "100001"))
+                .andExpect(status().isBadRequest());
+
+        verify(bulkService, never()).generateAndSave(anyInt(), any());
+    }
+
+    @Test
+    void simulate_WithCountAboveMax_ReturnsBadRequest() throws Exception {
+        when(simulationEngine.getMaxCount()).thenReturn(1000L);
+
+        mockMvc.perform(get("/api/characters/simulate").param("count", "1001"))
+                .andExpect(status().isBadRequest());
+
+        verify(simulationEngine, never()).simulate(anyLong(), any());
+    }
+
+    @Test
+    void exportCharacters_StreamsNdjson() throws Exception {
+        when(bulkService.exportAsNdjson(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        mockMvc.perform(get("/api/characters/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void importCharacters_ReturnsReport() throws Exception {
+        ImportReport report = new ImportReport();
+        report.recordImported(1);
+        report.recordError(2, "Invalid JSON: oops");
+        when(bulkService.importNdjson(any(InputStream.class), eq(100))).thenReturn(report);
+
+        mockMvc.perform(post("/api/characters/import")
+                        .param("chunkSize", "100")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Frodo\"}\nnot json\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        verify(bulkService, times(1)).importNdjson(any(InputStream.class), eq(100));
+    }
+
+    @Test
+    void getStatistics_ReturnsCounters() throws Exception {
+        RosterStatistics stats = new RosterStatistics(2, Map.of("Human", 2L), Map.of("Fighter", 2L),
+                Map.of(1, 2L), Map.of());
+        when(characterService.getRosterStatistics()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/characters/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.raceCounts.Human").value(2))
+                .andExpect(jsonPath("$.levelCounts.1").value(2));
+    }
+
+    @Test
+    void scanCharacters_BindsCriteria() throws Exception {
+        when(characterService.scanCharacters(argThat(c -> c.getMinStrength() == 15 && c.getMinLevel() == 5), eq(10)))
+                .thenReturn(new ScanResult(2, new long[]{4L, 9L}, 1000, 12, "scalar"));
+
+        mockMvc.perform(get("/api/characters/scan")
+                        .param("minStrength", "15")
+                        .param("minLevel", "5")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.ids[1]").value(9))
+                .andExpect(jsonPath("$.scannedRows").value(1000))
+                .andExpect(jsonPath("$.scanner").value("scalar"));
+    }
+
+    @Test
+    void autocomplete_ReturnsSuggestions() throws Exception {
+        when(characterService.suggestNames("sha", 5))
+                .thenReturn(List.of(new NameSuggestion(3L, "Shadowheart", 9)));
+
+        mockMvc.perform(get("/api/characters/autocomplete").param("prefix", "sha").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].name").value("Shadowheart"))
+                .andExpect(jsonPath("$[0].level").value(9));
+    }
+
+    @Test
+    void getSimilarCharacters_ReturnsNeighboursWithDistance() throws Exception {
+        CharacterSummary summary = summaryOf(createTestCharacter(4L, "Lae'zel", "Githyanki", "Fighter"));
+        when(characterService.findSimilarCharacters(1L, 3, "Fighter"))
+                .thenReturn(Optional.of(List.of(new SimilarCharacter(summary, 1.5))));
+
+        mockMvc.perform(get("/api/characters/1/similar").param("k", "3").param("characterClass", "Fighter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].character.id").value(4))
+                .andExpect(jsonPath("$[0].character.name").value("Lae'zel"))
+                .andExpect(jsonPath("$[0].distance").value(1.5));
+    }
+
+    @Test
+    void getSimilarCharacters_UnknownCharacter_Returns404() throws Exception {
+        when(characterService.findSimilarCharacters(99L, DndCharacterService.DEFAULT_SIMILAR, null))
+                .thenReturn(Optional.empty());
 
-        when(characterService.getAvailableRaces()).thenReturn(races);
-        when(characterService.getAvailableClasses()).thenReturn(classes);
+        mockMvc.perform(get("/api/characters/99/similar"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getOptions_ReturnsRacesAndClassesWithETag() throws Exception {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        options.put("races", Arrays.asList("Human", "Elf", "Dwarf"));
+        options.put("classes", Arrays.asList("Fighter", "Wizard", "Rogue"));
+
+        when(characterService.getCharacterOptions()).thenReturn(options);
+        when(characterService.getCharacterOptionsETag()).thenReturn("\"abc\"");
 
         mockMvc.perform(get("/api/characters/options"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
                 .andExpect(jsonPath("$.races[0]").value("Human"))
                 .andExpect(jsonPath("$.classes[0]").value("Fighter"));
+    }
+
+    @Test
+    void getOptions_WithMatchingETag_ReturnsNotModified() throws Exception {
+        when(characterService.getCharacterOptions()).thenReturn(Map.of());
+        when(characterService.getCharacterOptionsETag()).thenReturn("\"abc\"");
+
+        mockMvc.perform(get("/api/characters/options").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getOptionsInUse_ReturnsRacesAndClassesOfSavedCharacters() throws Exception {
+        when(characterService.findRacesInUse()).thenReturn(List.of("Dwarf", "Elf"));
+        when(characterService.findClassesInUse()).thenReturn(List.of("Wizard"));
+
+        mockMvc.perform(get("/api/characters/options/in-use"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.races[1]").value("Elf"))
+                .andExpect(jsonPath("$.classes[0]").value("Wizard"));
+    }
+
+    @Test
+    void getCharacterById_ReturnsVersionETag() throws Exception {
+        DndCharacter character = createTestCharacter(1L, "Hero", "Human", "Fighter");
+        character.setVersion(3L);
+        when(characterService.getCharacterById(1L)).thenReturn(Optional.of(character));
+
+        mockMvc.perform(get("/api/characters/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void getCharacterById_WithCurrentVersion_ReturnsNotModified() throws Exception {
+        DndCharacter character = createTestCharacter(1L, "Hero", "Human", "Fighter");
+        character.setVersion(3L);
+        when(characterService.getCharacterById(1L)).thenReturn(Optional.of(character));
+
+        mockMvc.perform(get("/api/characters/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/characters/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateCharacter_WithStaleVersion_ReturnsConflict() throws Exception {
+        DndCharacter character = createTestCharacter(1L, "Hero", "Human", "Fighter");
+        when(characterService.getCharacterById(1L)).thenReturn(Optional.of(character));
+        when(characterService.saveCharacter(any(DndCharacter.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(DndCharacter.class, 1L));
+
+        mockMvc.perform(put("/api/characters/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(character)))
+                .andExpect(status().isConflict());
+    }
 
-        verify(characterService, times(1)).getAvailableRaces();
-        verify(characterService, times(1)).getAvailableClasses();
+    private CharacterSummary summaryOf(DndCharacter character) {
+        return new SpelAwareProxyProjectionFactory().createProjection(CharacterSummary.class, character);
     }
 
     private DndCharacter createTestCharacter(Long id, String name, String race, String characterClass) {
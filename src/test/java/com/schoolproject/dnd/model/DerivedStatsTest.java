@@ -0,0 +1,67 @@
+package com.schoolproject.dnd.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DerivedStats and the derived getters of DndCharacter.
+ */
+class DerivedStatsTest {
+
+    @Test
+    void modifier_MatchesFloorFormula() {
+        for (int score = -5; score <= 40; score++) {
+            assertEquals((int) Math.floor((score - 10) / 2.0), DerivedStats.modifier(score), "score " + score);
+        }
+    }
+
+    @Test
+    void proficiencyBonus_RisesEveryFourLevels() {
+        assertEquals(2, DerivedStats.proficiencyBonus(1));
+        assertEquals(2, DerivedStats.proficiencyBonus(4));
+        assertEquals(3, DerivedStats.proficiencyBonus(5));
+        assertEquals(4, DerivedStats.proficiencyBonus(9));
+        assertEquals(6, DerivedStats.proficiencyBonus(20));
+    }
+
+    @Test
+    void format_ReturnsSharedSignedStrings() {
+        assertEquals("+0", DerivedStats.format(0));
+        assertEquals("+3", DerivedStats.format(3));
+        assertEquals("-1", DerivedStats.format(-1));
+        assertSame(DerivedStats.format(2), DerivedStats.format(2));
+        assertEquals("+42", DerivedStats.format(42));
+    }
+
+    @Test
+    void maxHitPoints_UsesHitDieAndConstitution() {
+        // Fighter d10, Con 14 (+2): 12 at level 1, then 6 + 2 per level
+        assertEquals(12, DerivedStats.maxHitPoints("Fighter", 1, 14));
+        assertEquals(44, DerivedStats.maxHitPoints("Fighter", 5, 14));
+        // Wizard d6, Con 3 (-4): 2 at level 1, and each further level still adds at least 1
+        assertEquals(4, DerivedStats.maxHitPoints("Wizard", 3, 3));
+        assertEquals(8, DerivedStats.hitDie("Unknown"));
+    }
+
+    @Test
+    void character_ExposesDerivedStats() {
+        DndCharacter character = new DndCharacter("Shadowblade", "Elf", "Rogue");
+        character.setLevel(5);
+        character.setDexterity(17);
+        character.setIntelligence(12);
+        character.setWisdom(8);
+        character.setStrength(9);
+
+        assertEquals("+3", character.getDexterityModifier());
+        assertEquals("-1", character.getStrengthModifier());
+        assertEquals("+3", character.getProficiencyBonus());
+        assertEquals("+3", character.getInitiative());
+        assertEquals(9, character.getPassivePerception());
+        assertEquals(8, character.getHitDie());
+        // Rogues are proficient in Dexterity and Intelligence saves
+        assertEquals("+6", character.getDexteritySave());
+        assertEquals("+4", character.getIntelligenceSave());
+        assertEquals("-1", character.getStrengthSave());
+    }
+}
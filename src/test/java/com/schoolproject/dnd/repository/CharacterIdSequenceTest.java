@@ -0,0 +1,114 @@
+package com.schoolproject.dnd.repository;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.service.AbilitySimilarityIndex;
+import com.schoolproject.dnd.service.CharacterCache;
+import com.schoolproject.dnd.service.CharacterIndexes;
+import com.schoolproject.dnd.service.ColumnarRoster;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.MarkovNameGenerator;
+import com.schoolproject.dnd.service.NameAutocompleteIndex;
+import com.schoolproject.dnd.service.NameTrigramIndex;
+import com.schoolproject.dnd.service.NameUniquenessFilter;
+import com.schoolproject.dnd.service.RosterStatisticsIndex;
+import com.schoolproject.dnd.service.TableAbilityScoreRoller;
+import com.schoolproject.dnd.service.TemplateBackgroundGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CharacterIdSequence against the in-memory database.
+ */
+@DataJpaTest
+@Import({CharacterIdSequence.class, DndCharacterService.class, TableAbilityScoreRoller.class,
+        TemplateBackgroundGenerator.class, MarkovNameGenerator.class, NameUniquenessFilter.class,
+        CharacterIndexes.class, NameTrigramIndex.class, NameAutocompleteIndex.class,
+        CharacterCache.class, RosterStatisticsIndex.class, ColumnarRoster.class,
+        AbilitySimilarityIndex.class})
+class CharacterIdSequenceTest {
+
+    @Autowired
+    private CharacterIdSequence idSequence;
+
+    @Autowired
+    private DndCharacterRepository repository;
+
+    @Autowired
+    private DndCharacterService characterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void alignWithExistingRows_RowsFromBeforeTheSequence_NewIdsStartAfterThem() {
+        // A row written with an IDENTITY id, before the sequence existed
+        jdbcTemplate.update("INSERT INTO characters (id, name, race, character_class, level, strength, dexterity,"
+                + " constitution, intelligence, wisdom, charisma, version)"
+                + " VALUES (10000, 'Aria', 'Elf', 'Wizard', 5, 10, 10, 10, 10, 10, 10, 0)");
+
+        idSequence.alignWithExistingRows();
+        DndCharacter first = repository.save(new DndCharacter("Borin", "Dwarf", "Fighter"));
+        DndCharacter second = repository.save(new DndCharacter("Cael", "Elf", "Rogue"));
+
+        assertTrue(first.getId() > 10000, "id " + first.getId());
+        assertTrue(second.getId() > first.getId());
+    }
+
+    @Test
+    void alignWithExistingRows_SequenceAlreadyAhead_LeavesItAlone() {
+        jdbcTemplate.execute("ALTER SEQUENCE " + DndCharacter.ID_SEQUENCE + " RESTART WITH 50000");
+        jdbcTemplate.update("INSERT INTO characters (id, name, race, character_class, level, strength, dexterity,"
+                + " constitution, intelligence, wisdom, charisma, version)"
+                + " VALUES (100, 'Aria', 'Elf', 'Wizard', 5, 10, 10, 10, 10, 10, 10, 0)");
+
+        idSequence.alignWithExistingRows();
+
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + DndCharacter.ID_SEQUENCE, Long.class);
+        assertTrue(next >= 50000, "next " + next);
+    }
+
+    @Test
+    void alignWithExistingRows_SequenceAlreadyAhead_DoesNotUseUpAValue() {
+        jdbcTemplate.update("INSERT INTO characters (id, name, race, character_class, level, strength, dexterity,"
+                + " constitution, intelligence, wisdom, charisma, version)"
+                + " VALUES (100, 'Aria', 'Elf', 'Wizard', 5, 10, 10, 10, 10, 10, 10, 0)");
+        idSequence.alignWithExistingRows();
+        Long before = baseValue();
+
+        // As on every later start, when the sequence is already past the rows
+        idSequence.alignWithExistingRows();
+        idSequence.alignWithExistingRows();
+
+        assertEquals(before, baseValue());
+    }
+
+    @Test
+    void fillMissingVersions_RowFromBeforeVersioning_CanBeUpdated() {
+        // A row saved before the version column existed, which ddl-auto=update adds as NULL
+        jdbcTemplate.update("INSERT INTO characters (id, name, race, character_class, level, strength, dexterity,"
+                + " constitution, intelligence, wisdom, charisma, version)"
+                + " VALUES (5, 'Aria', 'Elf', 'Wizard', 5, 10, 10, 10, 10, 10, 10, NULL)");
+
+        idSequence.fillMissingVersions();
+        // An update as the form and PUT send it: the stored id, without a version
+        DndCharacter update = new DndCharacter("Aria", "Elf", "Sorcerer");
+        update.setId(5L);
+        characterService.saveCharacter(update);
+        repository.flush();
+
+        assertEquals("Sorcerer", jdbcTemplate.queryForObject(
+                "SELECT character_class FROM characters WHERE id = 5", String.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM characters WHERE id = 5", Long.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM characters", Integer.class));
+    }
+
+    private Long baseValue() {
+        return jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES"
+                + " WHERE SEQUENCE_NAME = 'CHARACTERS_SEQ'", Long.class);
+    }
+}
@@ -0,0 +1,181 @@
+package com.schoolproject.dnd.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.CharacterSummary;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.service.AbilitySimilarityIndex;
+import com.schoolproject.dnd.service.CharacterCache;
+import com.schoolproject.dnd.service.CharacterIndexes;
+import com.schoolproject.dnd.service.ColumnarRoster;
+import com.schoolproject.dnd.service.DndCharacterService;
+import com.schoolproject.dnd.service.MarkovNameGenerator;
+import com.schoolproject.dnd.service.NameAutocompleteIndex;
+import com.schoolproject.dnd.service.NameTrigramIndex;
+import com.schoolproject.dnd.service.NameUniquenessFilter;
+import com.schoolproject.dnd.service.RosterStatisticsIndex;
+import com.schoolproject.dnd.service.TableAbilityScoreRoller;
+import com.schoolproject.dnd.service.TemplateBackgroundGenerator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the dynamic character queries against the in-memory database.
+ */
+@DataJpaTest
+@Import({DndCharacterService.class, TableAbilityScoreRoller.class, TemplateBackgroundGenerator.class,
+        MarkovNameGenerator.class, NameUniquenessFilter.class, CharacterIndexes.class, NameTrigramIndex.class,
+        NameAutocompleteIndex.class, CharacterCache.class, RosterStatisticsIndex.class, ColumnarRoster.class,
+        AbilitySimilarityIndex.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.schoolproject.dnd.repository.DndCharacterRepositoryTest$LastStatement")
+class DndCharacterRepositoryTest {
+
+    @Autowired
+    private DndCharacterRepository repository;
+
+    @Autowired
+    private DndCharacterService characterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository.save(character("Aria", "Elf", "Wizard", 5, 16));
+        repository.save(character("Borin", "Dwarf", "Fighter", 7, 17));
+        repository.save(character("Cael", "Elf", "Wizard", 2, 8));
+        repository.save(character("Dara", "Elf", "Rogue", 9, 12));
+    }
+
+    @Test
+    void matching_CombinesAllGivenCriteria() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setRace("Elf");
+        criteria.setCharacterClass("Wizard");
+        criteria.setMinLevel(3);
+        criteria.setMinStrength(10);
+
+        List<DndCharacter> result = repository.findAll(CharacterSpecifications.matching(criteria));
+
+        assertEquals(List.of("Aria"), result.stream().map(DndCharacter::getName).toList());
+    }
+
+    @Test
+    void matching_WithoutCriteria_ReturnsEverything() {
+        assertEquals(4, repository.findAll(CharacterSpecifications.matching(new CharacterCriteria())).size());
+    }
+
+    @Test
+    void idGreaterThan_ContinuesAfterCursor() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setRace("Elf");
+        List<DndCharacter> elves = repository.findAll(CharacterSpecifications.matching(criteria), Sort.by("id"));
+
+        List<DndCharacter> rest = repository.findAll(CharacterSpecifications.matching(criteria)
+                .and(CharacterSpecifications.idGreaterThan(elves.get(0).getId())), Sort.by("id"));
+
+        assertEquals(elves.subList(1, 3).stream().map(DndCharacter::getId).toList(),
+                rest.stream().map(DndCharacter::getId).toList());
+    }
+
+    @Test
+    void findBy_WithLimit_ReturnsFirstMatchesById() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setRace("Elf");
+
+        List<DndCharacter> result = repository.findBy(CharacterSpecifications.matching(criteria),
+                query -> query.sortBy(Sort.by("id")).limit(2).all());
+
+        assertEquals(List.of("Aria", "Cael"), result.stream().map(DndCharacter::getName).toList());
+    }
+
+    @Test
+    void summaryProjection_SelectsOnlyListColumns() throws Exception {
+        List<CharacterSummary> summaries = repository.findByIdGreaterThanOrderByIdAsc(
+                0L, Limit.of(10), CharacterSummary.class);
+
+        assertEquals(4, summaries.size());
+        assertEquals("Aria", summaries.get(0).getName());
+        assertEquals(16, summaries.get(0).getStrength());
+        assertFalse(LastStatement.sql.contains("background"), LastStatement.sql);
+
+        String json = new ObjectMapper().writeValueAsString(summaries.get(0));
+        assertTrue(json.contains("\"characterClass\":\"Wizard\""), json);
+        assertFalse(json.contains("background"), json);
+    }
+
+    @Test
+    void raceClassAndLevelQuery_UsesCompositeIndex() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setRace("Elf");
+        criteria.setCharacterClass("Wizard");
+        criteria.setMinLevel(3);
+        criteria.setMaxLevel(10);
+
+        characterService.queryCharacters(criteria, 1L, 20);
+
+        String plan = explainPageQuery(LastStatement.sql, "Elf", "Wizard", 3, 10, 1L, 21);
+        assertTrue(plan.contains("IDX_CHARACTERS_RACE_CLASS_LEVEL"), plan);
+    }
+
+    @Test
+    void classQuery_UsesClassIndex() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setCharacterClass("Wizard");
+
+        characterService.queryCharacters(criteria, 1L, 20);
+
+        String plan = explainPageQuery(LastStatement.sql, "Wizard", 1L, 21);
+        assertTrue(plan.contains("IDX_CHARACTERS_CLASS_LEVEL"), plan);
+    }
+
+    /**
+     * H2's plan for a page query as queryCharacters sends it: with the id cursor, id order and row limit.
+     */
+    private String explainPageQuery(String sql, Object... parameters) {
+        assertTrue(sql.contains(".id>?") && sql.contains(" order by ") && sql.contains(" fetch first ? rows"), sql);
+        return explain(sql, parameters);
+    }
+
+    /**
+     * H2's plan for the SQL Hibernate generated, with the given parameter values bound.
+     */
+    private String explain(String sql, Object... parameters) {
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), sql);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private DndCharacter character(String name, String race, String characterClass, int level, int strength) {
+        DndCharacter character = new DndCharacter(name, race, characterClass);
+        character.setLevel(level);
+        character.setStrength(strength);
+        return character;
+    }
+
+    /**
+     * Remembers the last SQL statement Hibernate prepared.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            sql = statement;
+            return statement;
+        }
+    }
+}
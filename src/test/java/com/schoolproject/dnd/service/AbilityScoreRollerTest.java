@@ -0,0 +1,75 @@
+package com.schoolproject.dnd.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statistical tests for the ability score rollers.
+ */
+class AbilityScoreRollerTest {
+
+    private static final int SAMPLES = 1_296_000;
+
+    // Chi-square critical value for 15 degrees of freedom at p = 0.001
+    private static final double CHI_SQUARE_CRITICAL = 37.697;
+
+    @Test
+    void tableRoller_MatchesExactDiceDistribution() {
+        double chiSquare = chiSquareAgainstExact(sample(new TableAbilityScoreRoller(), 1L));
+
+        assertTrue(chiSquare < CHI_SQUARE_CRITICAL, "chi-square was " + chiSquare);
+    }
+
+    @Test
+    void diceRoller_MatchesExactDiceDistribution() {
+        double chiSquare = chiSquareAgainstExact(sample(new DiceAbilityScoreRoller(), 2L));
+
+        assertTrue(chiSquare < CHI_SQUARE_CRITICAL, "chi-square was " + chiSquare);
+    }
+
+    @Test
+    void tableRoller_StaysWithinScoreRange() {
+        long[] counts = sample(new TableAbilityScoreRoller(), 3L);
+
+        assertEquals(0, counts[0] + counts[1] + counts[2]);
+        assertTrue(counts[3] > 0);
+        assertTrue(counts[18] > 0);
+    }
+
+    private long[] sample(AbilityScoreRoller roller, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] counts = new long[19];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[roller.roll(random)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Compare observed counts with the exact 4d6 drop lowest distribution,
+     * found by enumerating every combination of four dice.
+     */
+    private double chiSquareAgainstExact(long[] observed) {
+        int[] ways = new int[19];
+        for (int a = 1; a <= 6; a++) {
+            for (int b = 1; b <= 6; b++) {
+                for (int c = 1; c <= 6; c++) {
+                    for (int d = 1; d <= 6; d++) {
+                        int lowest = Math.min(Math.min(a, b), Math.min(c, d));
+                        ways[a + b + c + d - lowest]++;
+                    }
+                }
+            }
+        }
+        double chiSquare = 0;
+        for (int score = 3; score <= 18; score++) {
+            double expected = (double) SAMPLES * ways[score] / 1296;
+            double diff = observed[score] - expected;
+            chiSquare += diff * diff / expected;
+        }
+        return chiSquare;
+    }
+}
@@ -0,0 +1,125 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AbilitySimilarityIndex, checked against sorting every character by distance.
+ */
+class AbilitySimilarityIndexTest {
+
+    private static final int CHARACTERS = 3_000;
+
+    private final DndCharacterService generator = TestCharacterServices.generationOnly();
+
+    private List<DndCharacter> characters;
+    private AbilitySimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        characters = new ArrayList<>();
+        index = new AbilitySimilarityIndex();
+        for (long id = 1; id <= CHARACTERS; id++) {
+            DndCharacter character = generator.generateRandomCharacter(random);
+            character.setId(id);
+            characters.add(character);
+            index.add(character);
+        }
+    }
+
+    @Test
+    void nearest_MatchesFullSort() {
+        for (int i = 0; i < 50; i++) {
+            DndCharacter anchor = characters.get(i * 37);
+            assertNearestMatches(anchor, 10, null);
+            assertNearestMatches(anchor, 25, "Wizard");
+        }
+    }
+
+    @Test
+    void nearest_OutlierAtEdgeOfGrid_MatchesFullSort() {
+        DndCharacter outlier = new DndCharacter("Outlier", "Human", "Fighter");
+        outlier.setStrength(20);
+        outlier.setDexterity(1);
+        outlier.setConstitution(20);
+        outlier.setIntelligence(1);
+        outlier.setWisdom(20);
+        outlier.setCharisma(1);
+
+        assertNearestMatches(outlier, 10, null);
+    }
+
+    @Test
+    void nearest_AfterUpdatesAndDeletes_MatchesFullSort() {
+        for (int i = 0; i < CHARACTERS; i += 4) {
+            index.remove(characters.get(i));
+        }
+        for (int i = 1; i < CHARACTERS; i += 4) {
+            DndCharacter previous = characters.get(i);
+            DndCharacter updated = previous.copy();
+            updated.setStrength(previous.getStrength() % 20 + 1);
+            index.remove(previous);
+            index.add(updated);
+            characters.set(i, updated);
+        }
+        List<DndCharacter> remaining = new ArrayList<>();
+        for (int i = 0; i < CHARACTERS; i++) {
+            if (i % 4 != 0) {
+                remaining.add(characters.get(i));
+            }
+        }
+        characters = remaining;
+
+        for (int i = 0; i < 20; i++) {
+            assertNearestMatches(characters.get(i * 50), 10, null);
+        }
+    }
+
+    @Test
+    void nearest_ExcludesAnchorAndUnknownClass() {
+        DndCharacter anchor = characters.get(0);
+
+        assertTrue(index.nearest(anchor, 50, null).stream().noneMatch(n -> n.getId() == anchor.getId()));
+        assertTrue(index.nearest(anchor, 10, "Gunslinger").isEmpty());
+    }
+
+    private void assertNearestMatches(DndCharacter anchor, int k, String characterClass) {
+        List<long[]> expected = characters.stream()
+                .filter(c -> !c.getId().equals(anchor.getId()))
+                .filter(c -> characterClass == null || characterClass.equals(c.getCharacterClass()))
+                .map(c -> new long[]{squaredDistance(anchor, c), c.getId()})
+                .sorted(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]))
+                .limit(k)
+                .toList();
+
+        List<AbilitySimilarityIndex.Neighbor> actual = index.nearest(anchor, k, characterClass);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[1], actual.get(i).getId());
+            assertEquals(expected.get(i)[0], actual.get(i).getSquaredDistance());
+        }
+    }
+
+    private static long squaredDistance(DndCharacter a, DndCharacter b) {
+        int[] diffs = {
+                a.getStrength() - b.getStrength(), a.getDexterity() - b.getDexterity(),
+                a.getConstitution() - b.getConstitution(), a.getIntelligence() - b.getIntelligence(),
+                a.getWisdom() - b.getWisdom(), a.getCharisma() - b.getCharisma()
+        };
+        long sum = 0;
+        for (int diff : diffs) {
+            sum += (long) diff * diff;
+        }
+        return sum;
+    }
+}
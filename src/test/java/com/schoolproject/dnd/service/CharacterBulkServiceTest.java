@@ -0,0 +1,229 @@
+package com.schoolproject.dnd.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolproject.dnd.model.BulkGenerationResult;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ImportReport;
+import com.schoolproject.dnd.repository.DndCharacterRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for CharacterBulkService against the in-memory database.
+ */
+@DataJpaTest
+@AutoConfigureJson
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({CharacterBulkService.class, DndCharacterService.class, TableAbilityScoreRoller.class,
+        TemplateBackgroundGenerator.class, MarkovNameGenerator.class, NameUniquenessFilter.class,
+        CharacterIndexes.class, NameTrigramIndex.class, NameAutocompleteIndex.class,
+        CharacterCache.class, RosterStatisticsIndex.class, ColumnarRoster.class,
+        AbilitySimilarityIndex.class})
+@TestPropertySource(properties = {"dnd.bulk.chunk-size=100", "dnd.bulk.max-count=1000"})
+class CharacterBulkServiceTest {
+
+    @Autowired
+    private CharacterBulkService bulkService;
+
+    @Autowired
+    private DndCharacterRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NameTrigramIndex nameTrigramIndex;
+
+    @Autowired
+    private RosterStatisticsIndex rosterStatistics;
+
+    @SpyBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void generateAndSave_SavesRequestedCountAcrossChunks() {
+        BulkGenerationResult result = bulkService.generateAndSave(250);
+
+        assertEquals(250, result.getCreated());
+        List<DndCharacter> saved = repository.findAll();
+        assertEquals(250, saved.size());
+        assertEquals(250, saved.stream().map(DndCharacter::getId).distinct().count());
+    }
+
+    @Test
+    void generateAndSave_AddsSavedCharactersToIndexes() {
+        long countBefore = rosterStatistics.snapshot().getCount();
+
+        bulkService.generateAndSave(50);
+
+        DndCharacter any = repository.findAll().get(0);
+        long[] ids = nameTrigramIndex.search(any.getName());
+        assertTrue(Arrays.stream(ids).anyMatch(id -> id == any.getId()));
+        assertEquals(countBefore + 50, rosterStatistics.snapshot().getCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void generateAndSave_CommitsOneTransactionPerChunk() {
+        // Outside the test transaction, so every chunk's transaction really commits
+        clearInvocations(transactionManager);
+        try {
+            bulkService.generateAndSave(250);
+
+            // saveAll joins the chunk's transaction, so only the chunks start new ones
+            ArgumentCaptor<TransactionStatus> commits = ArgumentCaptor.forClass(TransactionStatus.class);
+            verify(transactionManager, atLeastOnce()).commit(commits.capture());
+            assertEquals(3, commits.getAllValues().stream().filter(TransactionStatus::isNewTransaction).count());
+            assertEquals(250, repository.count());
+        } finally {
+            repository.deleteAll();
+        }
+    }
+
+    @Test
+    void generateAndSave_WithSeed_IsReproducible() {
+        // The name filter still holds the first run's names, so only the names differ
+        bulkService.generateAndSave(5, 99L);
+        List<String> firstRun = repository.findAll().stream()
+                .map(CharacterBulkServiceTest::backgroundWithoutName).toList();
+        repository.deleteAll();
+
+        bulkService.generateAndSave(5, 99L);
+        List<String> secondRun = repository.findAll().stream()
+                .map(CharacterBulkServiceTest::backgroundWithoutName).toList();
+
+        assertEquals(firstRun, secondRun);
+    }
+
+    @Test
+    void generateAndSave_NamesAreDistinctWithinAndAcrossChunks() {
+        bulkService.generateAndSave(1000);
+
+        List<String> names = repository.findAll().stream()
+                .map(character -> character.getName().toLowerCase(Locale.ROOT))
+                .toList();
+        assertEquals(1000, names.size());
+        assertEquals(1000, new HashSet<>(names).size());
+    }
+
+    @Test
+    void generateAndSave_SeedReplayedAfterSave_ChangesOnlyNames() {
+        bulkService.generateAndSave(5, 7L);
+        List<DndCharacter> firstRun = repository.findAll();
+
+        bulkService.generateAndSave(5, 7L);
+        List<DndCharacter> secondRun = repository.findAll().subList(5, 10);
+
+        for (int i = 0; i < 5; i++) {
+            DndCharacter first = firstRun.get(i);
+            DndCharacter replayed = secondRun.get(i);
+            assertNotEquals(first.getName(), replayed.getName());
+            assertEquals(first.getRace(), replayed.getRace());
+            assertEquals(first.getCharacterClass(), replayed.getCharacterClass());
+            assertEquals(first.getLevel(), replayed.getLevel());
+            assertArrayEquals(abilities(first), abilities(replayed));
+            assertEquals(backgroundWithoutName(first), backgroundWithoutName(replayed));
+        }
+    }
+
+    @Test
+    void generateAndSave_RejectsCountAboveMax() {
+        assertThrows(IllegalArgumentException.class, () -> bulkService.generateAndSave(1001));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.generateAndSave(0));
+    }
+
+    @Test
+    void exportAsNdjson_WritesOneLinePerCharacterInIdOrder() throws Exception {
+        bulkService.generateAndSave(150);
+        List<Long> ids = repository.findAll().stream().map(DndCharacter::getId).sorted().toList();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = bulkService.exportAsNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(150, written);
+        assertEquals(150, lines.length);
+        assertEquals(ids.get(0), objectMapper.readValue(lines[0], DndCharacter.class).getId());
+        assertEquals(ids.get(149), objectMapper.readValue(lines[149], DndCharacter.class).getId());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    void exportAsNdjson_WithEmptyTable_WritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, bulkService.exportAsNdjson(out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void importNdjson_SavesValidLinesAndReportsInvalidOnes() throws Exception {
+        String ndjson = String.join("\n",
+                "{\"name\":\"Aragorn\",\"race\":\"Human\",\"characterClass\":\"Ranger\",\"level\":10}",
+                "{\"name\":\"Gimli\",\"race\":\"Dwarf\",\"characterClass\":\"Fighter\"",
+                "",
+                "{\"name\":\"X\",\"race\":\"Elf\",\"characterClass\":\"Wizard\",\"level\":25}",
+                "{\"id\":999,\"name\":\"Legolas\",\"race\":\"Elf\",\"characterClass\":\"Ranger\"}",
+                "{\"name\":\"Frodo\",\"race\":\"Halfling\",\"characterClass\":\"Rogue\"}");
+
+        ImportReport report = bulkService.importNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 2);
+
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Invalid JSON"));
+        assertEquals(4, report.getErrors().get(1).getLine());
+        assertEquals("level: Level cannot exceed 20; name: Name must be between 2 and 100 characters",
+                report.getErrors().get(1).getMessage());
+        assertEquals(3, repository.count());
+        assertFalse(repository.existsById(999L));
+    }
+
+    @Test
+    void importNdjson_ReadsItsOwnExportFormat() throws Exception {
+        bulkService.generateAndSave(20);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkService.exportAsNdjson(out);
+
+        ImportReport report = bulkService.importNdjson(new ByteArrayInputStream(out.toByteArray()), null);
+
+        assertEquals(20, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(40, repository.count());
+    }
+
+    private static String backgroundWithoutName(DndCharacter character) {
+        return character.getBackground().replace(character.getName(), "{name}");
+    }
+
+    private static int[] abilities(DndCharacter character) {
+        return new int[]{character.getStrength(), character.getDexterity(), character.getConstitution(),
+                character.getIntelligence(), character.getWisdom(), character.getCharisma()};
+    }
+}
@@ -0,0 +1,75 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.SimulationSummary;
+import com.schoolproject.dnd.model.SimulationSummary.AbilityDistribution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CharacterSimulationEngine.
+ */
+@ExtendWith(MockitoExtension.class)
+class CharacterSimulationEngineTest {
+
+    @Mock
+    private DndCharacterService characterService;
+
+    private CharacterSimulationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(characterService.getAvailableRaces()).thenReturn(List.of("Human", "Elf", "Dwarf"));
+        when(characterService.getAvailableClasses()).thenReturn(List.of("Fighter", "Wizard"));
+        engine = new CharacterSimulationEngine(characterService, new TableAbilityScoreRoller(), 10_000_000L);
+    }
+
+    @Test
+    void simulate_CountsEveryRowOnceAcrossChunks() {
+        long count = CharacterSimulationEngine.CHUNK_SIZE * 3L + 17;
+
+        SimulationSummary summary = engine.simulate(count, 7L);
+
+        assertEquals(count, summary.getCount());
+        assertEquals(count, summary.getRaceCounts().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(count, summary.getClassCounts().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(count, summary.getLevelCounts().values().stream().mapToLong(Long::longValue).sum());
+        for (AbilityDistribution ability : summary.getAbilities().values()) {
+            assertEquals(count, ability.getHistogram().values().stream().mapToLong(Long::longValue).sum());
+            // 4d6 drop lowest has a mean of about 12.24
+            assertEquals(12.24, ability.getMean(), 0.05);
+        }
+    }
+
+    @Test
+    void simulate_WithSameSeed_IsReproducible() {
+        SimulationSummary first = engine.simulate(200_000, 42L);
+        SimulationSummary second = engine.simulate(200_000, 42L);
+
+        assertEquals(first.getRaceCounts(), second.getRaceCounts());
+        assertEquals(first.getLevelCounts(), second.getLevelCounts());
+        assertEquals(first.getAbilities().get("strength").getHistogram(),
+                second.getAbilities().get("strength").getHistogram());
+    }
+
+    @Test
+    void simulate_WithoutSeed_ReportsTheSeedUsed() {
+        SimulationSummary first = engine.simulate(1000, null);
+        SimulationSummary replay = engine.simulate(1000, first.getSeed());
+
+        assertEquals(first.getRaceCounts(), replay.getRaceCounts());
+    }
+
+    @Test
+    void simulate_RejectsCountOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> engine.simulate(0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> engine.simulate(10_000_001L, 1L));
+    }
+}
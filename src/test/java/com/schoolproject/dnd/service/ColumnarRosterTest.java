@@ -0,0 +1,145 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.CharacterCriteria;
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.ScanResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnarRoster, with both the vector and the scalar scanner.
+ */
+class ColumnarRosterTest {
+
+    // Not a multiple of any vector length, so every scan also runs a scalar tail
+    private static final int ROWS = 5_003;
+
+    private final DndCharacterService generator = TestCharacterServices.generationOnly();
+
+    private List<DndCharacter> characters;
+    private ColumnarRoster vectorRoster;
+    private ColumnarRoster scalarRoster;
+
+    @BeforeEach
+    void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        characters = new ArrayList<>();
+        vectorRoster = new ColumnarRoster(true);
+        scalarRoster = new ColumnarRoster(false);
+        for (long id = 1; id <= ROWS; id++) {
+            DndCharacter character = generator.generateRandomCharacter(random);
+            character.setId(id);
+            character.setLevel(random.nextInt(20) + 1);
+            characters.add(character);
+            vectorRoster.add(character);
+            scalarRoster.add(character);
+        }
+    }
+
+    @Test
+    void create_UsesVectorScannerWhenModuleIsPresent() {
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(vectorModule, vectorRoster.getScannerName().startsWith("vector"));
+        assertEquals("scalar", scalarRoster.getScannerName());
+    }
+
+    @Test
+    void scan_CompoundPredicate_MatchesFilter() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setMinStrength(15);
+        criteria.setMinDexterity(14);
+        criteria.setMinLevel(5);
+
+        assertScanMatches(criteria, c -> c.getStrength() >= 15 && c.getDexterity() >= 14 && c.getLevel() >= 5);
+    }
+
+    @Test
+    void scan_RaceClassAndLevelRange_MatchesFilter() {
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setRace("Elf");
+        criteria.setCharacterClass("Wizard");
+        criteria.setMinLevel(3);
+        criteria.setMaxLevel(8);
+
+        assertScanMatches(criteria, c -> c.getRace().equals("Elf") && c.getCharacterClass().equals("Wizard")
+                && c.getLevel() >= 3 && c.getLevel() <= 8);
+    }
+
+    @Test
+    void scan_NoCriteria_CountsAllRows() {
+        ScanResult result = vectorRoster.scan(new CharacterCriteria(), 10);
+
+        assertEquals(ROWS, result.getCount());
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, result.getIds());
+    }
+
+    @Test
+    void scan_UnknownRaceOrImpossibleRange_MatchesNothing() {
+        CharacterCriteria unknownRace = new CharacterCriteria();
+        unknownRace.setRace("Kobold");
+        CharacterCriteria emptyRange = new CharacterCriteria();
+        emptyRange.setMinLevel(9);
+        emptyRange.setMaxLevel(2);
+        CharacterCriteria tooStrong = new CharacterCriteria();
+        tooStrong.setMinStrength(500);
+
+        assertEquals(0, vectorRoster.scan(unknownRace, 10).getCount());
+        assertEquals(0, vectorRoster.scan(emptyRange, 10).getCount());
+        assertEquals(0, vectorRoster.scan(tooStrong, 10).getCount());
+    }
+
+    @Test
+    void scan_AfterUpdatesAndDeletes_MatchesFilter() {
+        // Delete a third of the rows, enough to trigger compaction, and update some others in place
+        for (int i = 0; i < ROWS; i += 3) {
+            vectorRoster.remove(characters.get(i));
+            scalarRoster.remove(characters.get(i));
+        }
+        for (int i = 1; i < ROWS; i += 7) {
+            if (i % 3 == 0) {
+                continue;
+            }
+            DndCharacter previous = characters.get(i);
+            DndCharacter updated = previous.copy();
+            updated.setStrength(20);
+            for (ColumnarRoster roster : List.of(vectorRoster, scalarRoster)) {
+                roster.remove(previous);
+                roster.add(updated);
+            }
+            characters.set(i, updated);
+        }
+        List<DndCharacter> remaining = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            if (i % 3 != 0) {
+                remaining.add(characters.get(i));
+            }
+        }
+        characters = remaining;
+
+        CharacterCriteria criteria = new CharacterCriteria();
+        criteria.setMinStrength(18);
+        assertScanMatches(criteria, c -> c.getStrength() >= 18);
+        assertEquals(remaining.size(), vectorRoster.scan(new CharacterCriteria(), 0).getScannedRows());
+    }
+
+    private void assertScanMatches(CharacterCriteria criteria, Predicate<DndCharacter> filter) {
+        long[] expected = characters.stream().filter(filter).mapToLong(DndCharacter::getId).toArray();
+        for (ColumnarRoster roster : List.of(vectorRoster, scalarRoster)) {
+            ScanResult result = roster.scan(criteria, ROWS);
+            assertEquals(expected.length, result.getCount(), roster.getScannerName());
+            assertArrayEquals(expected, result.getIds(), roster.getScannerName());
+        }
+        assertTrue(expected.length > 0, "criteria should match some rows");
+        ScanResult limited = vectorRoster.scan(criteria, 3);
+        assertEquals(expected.length, limited.getCount());
+        assertArrayEquals(Arrays.copyOf(expected, Math.min(3, expected.length)), limited.getIds());
+    }
+}
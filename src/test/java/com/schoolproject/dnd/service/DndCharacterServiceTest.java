@@ -1,20 +1,27 @@
 package com.schoolproject.dnd.service;
 
+import com.schoolproject.dnd.model.CharacterPage;
+import com.schoolproject.dnd.model.CharacterSummary;
 import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.SimilarCharacter;
 import com.schoolproject.dnd.repository.DndCharacterRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -26,13 +33,34 @@ class DndCharacterServiceTest {
     @Mock
     private DndCharacterRepository repository;
 
-    @InjectMocks
+    @Mock
+    private CharacterIndexes characterIndexes;
+
+    private NameTrigramIndex nameTrigramIndex;
+
+    private RosterStatisticsIndex rosterStatistics;
+
+    private ColumnarRoster columnarRoster;
+
+    private AbilitySimilarityIndex similarityIndex;
+
+    private NameUniquenessFilter nameFilter;
+
     private DndCharacterService characterService;
 
     private DndCharacter testCharacter;
 
     @BeforeEach
     void setUp() {
+        nameTrigramIndex = new NameTrigramIndex();
+        rosterStatistics = new RosterStatisticsIndex();
+        columnarRoster = new ColumnarRoster(true);
+        similarityIndex = new AbilitySimilarityIndex();
+        nameFilter = new NameUniquenessFilter(1000, 0.01);
+        characterService = new DndCharacterService(repository, new TableAbilityScoreRoller(),
+                new TemplateBackgroundGenerator(), new MarkovNameGenerator(), nameFilter, characterIndexes,
+                nameTrigramIndex, new NameAutocompleteIndex(), new CharacterCache(100, Duration.ofMinutes(10)),
+                rosterStatistics, columnarRoster, similarityIndex);
         testCharacter = new DndCharacter("TestHero", "Human", "Fighter");
         testCharacter.setId(1L);
         testCharacter.setLevel(5);
@@ -50,6 +78,45 @@ class DndCharacterServiceTest {
         verify(repository, times(1)).findAll();
     }
 
+    @Test
+    void getCharacterPage_WhenMoreRowsExist_ReturnsNextCursor() {
+        DndCharacter second = new DndCharacter("SecondHero", "Elf", "Wizard");
+        second.setId(2L);
+        DndCharacter third = new DndCharacter("ThirdHero", "Dwarf", "Cleric");
+        third.setId(3L);
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(testCharacter, second, third));
+
+        CharacterPage<DndCharacter> page = characterService.getCharacterPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getNextCursor());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void getCharacterPage_OnLastPage_ReturnsNoCursor() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(11)))
+                .thenReturn(Arrays.asList(testCharacter));
+
+        CharacterPage<DndCharacter> page = characterService.getCharacterPage(1L, 10);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void getCharacterPage_ClampsLimit() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(DndCharacterService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(Arrays.asList(testCharacter));
+
+        characterService.getCharacterPage(null, 100_000);
+
+        verify(repository, times(1))
+                .findByIdGreaterThanOrderByIdAsc(0L, Limit.of(DndCharacterService.MAX_PAGE_SIZE + 1));
+    }
+
     @Test
     void getCharacterById_WhenExists_ReturnsCharacter() {
         when(repository.findById(1L)).thenReturn(Optional.of(testCharacter));
@@ -71,6 +138,51 @@ class DndCharacterServiceTest {
         verify(repository, times(1)).findById(999L);
     }
 
+    @Test
+    void getCharacterById_SecondCall_IsServedFromCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(testCharacter));
+
+        characterService.getCharacterById(1L);
+        Optional<DndCharacter> result = characterService.getCharacterById(1L);
+
+        assertEquals("TestHero", result.get().getName());
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getCharacterById_ReturnsCopiesThatDoNotChangeTheCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(testCharacter));
+
+        characterService.getCharacterById(1L).get().setName("Changed");
+
+        assertEquals("TestHero", characterService.getCharacterById(1L).get().getName());
+    }
+
+    @Test
+    void saveCharacter_InvalidatesCachedCharacter() {
+        DndCharacter renamed = new DndCharacter("NewName", "Human", "Fighter");
+        renamed.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(testCharacter), Optional.of(testCharacter),
+                Optional.of(renamed));
+        when(repository.save(renamed)).thenReturn(renamed);
+
+        characterService.getCharacterById(1L);
+        characterService.saveCharacter(renamed);
+
+        assertEquals("NewName", characterService.getCharacterById(1L).get().getName());
+    }
+
+    @Test
+    void deleteCharacter_InvalidatesCachedCharacter() {
+        when(repository.findById(1L)).thenReturn(Optional.of(testCharacter), Optional.of(testCharacter),
+                Optional.empty());
+
+        characterService.getCharacterById(1L);
+        characterService.deleteCharacter(1L);
+
+        assertFalse(characterService.getCharacterById(1L).isPresent());
+    }
+
     @Test
     void saveCharacter_SavesAndReturnsCharacter() {
         when(repository.save(any(DndCharacter.class))).thenReturn(testCharacter);
@@ -81,13 +193,170 @@ class DndCharacterServiceTest {
         verify(repository, times(1)).save(testCharacter);
     }
 
+    @Test
+    void saveCharacter_NewCharacter_AddsToIndexes() {
+        DndCharacter newCharacter = new DndCharacter("NewHero", "Elf", "Bard");
+        when(repository.save(newCharacter)).thenReturn(testCharacter);
+
+        characterService.saveCharacter(newCharacter);
+
+        verify(repository, never()).findById(any());
+        verify(characterIndexes, times(1)).added(testCharacter);
+    }
+
+    @Test
+    void saveCharacter_ExistingCharacter_UpdatesIndexesWithPreviousValues() {
+        DndCharacter stored = new DndCharacter("OldName", "Human", "Fighter");
+        stored.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(stored));
+        when(repository.save(testCharacter)).thenAnswer(invocation -> {
+            // Simulate JPA merging the new values into the managed instance
+            stored.setName(testCharacter.getName());
+            return stored;
+        });
+
+        characterService.saveCharacter(testCharacter);
+
+        verify(characterIndexes, times(1)).updated(
+                argThat(previous -> previous.getName().equals("OldName")), eq(stored));
+    }
+
+    @Test
+    void saveCharacter_WithoutVersion_TakesStoredVersion() {
+        DndCharacter stored = new DndCharacter("OldName", "Human", "Fighter");
+        stored.setId(1L);
+        stored.setVersion(4L);
+        when(repository.findById(1L)).thenReturn(Optional.of(stored));
+        when(repository.save(testCharacter)).thenReturn(testCharacter);
+
+        characterService.saveCharacter(testCharacter);
+
+        assertEquals(4L, testCharacter.getVersion());
+    }
+
+    @Test
+    void getCharacterOptions_ReturnsRacesAndClassesWithStableETag() {
+        Map<String, List<String>> options = characterService.getCharacterOptions();
+
+        assertEquals(characterService.getAvailableRaces(), options.get("races"));
+        assertEquals(characterService.getAvailableClasses(), options.get("classes"));
+        assertEquals(characterService.getCharacterOptionsETag(), characterService.getCharacterOptionsETag());
+    }
+
+    @Test
+    void findRacesInUse_WhenIndexesReady_UsesCounters() {
+        when(characterIndexes.isReady()).thenReturn(true);
+        rosterStatistics.add(testCharacter);
+
+        assertEquals(List.of("Human"), characterService.findRacesInUse());
+        assertEquals(List.of("Fighter"), characterService.findClassesInUse());
+        verify(repository, never()).findDistinctRaces();
+        verify(repository, never()).findDistinctCharacterClasses();
+    }
+
+    @Test
+    void findRacesInUse_BeforeIndexesAreBuilt_QueriesDatabase() {
+        when(repository.findDistinctRaces()).thenReturn(List.of("Elf"));
+
+        assertEquals(List.of("Elf"), characterService.findRacesInUse());
+    }
+
+    @Test
+    void findSimilarCharacters_ReturnsNearestInDistanceOrder() {
+        DndCharacter near = new DndCharacter("Near", "Human", "Fighter");
+        near.setId(2L);
+        near.setStrength(11);
+        DndCharacter far = new DndCharacter("Far", "Human", "Fighter");
+        far.setId(3L);
+        far.setStrength(13);
+        far.setCharisma(6);
+        similarityIndex.add(testCharacter);
+        similarityIndex.add(far);
+        similarityIndex.add(near);
+        CharacterSummary nearSummary = mock(CharacterSummary.class);
+        when(nearSummary.getId()).thenReturn(2L);
+        CharacterSummary farSummary = mock(CharacterSummary.class);
+        when(farSummary.getId()).thenReturn(3L);
+        when(repository.findById(1L)).thenReturn(Optional.of(testCharacter));
+        when(repository.findByIdInOrderByIdAsc(List.of(2L, 3L), CharacterSummary.class))
+                .thenReturn(List.of(nearSummary, farSummary));
+
+        List<SimilarCharacter> similar = characterService.findSimilarCharacters(1L, 10, null).orElseThrow();
+
+        assertEquals(2, similar.size());
+        assertSame(nearSummary, similar.get(0).getCharacter());
+        assertEquals(1.0, similar.get(0).getDistance());
+        assertSame(farSummary, similar.get(1).getCharacter());
+        assertEquals(5.0, similar.get(1).getDistance());
+    }
+
+    @Test
+    void findSimilarCharacters_UnknownCharacter_ReturnsEmpty() {
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(characterService.findSimilarCharacters(9L, 10, null).isEmpty());
+    }
+
     @Test
     void deleteCharacter_CallsRepositoryDelete() {
+        when(repository.findById(1L)).thenReturn(Optional.of(testCharacter));
         doNothing().when(repository).deleteById(1L);
 
         characterService.deleteCharacter(1L);
 
         verify(repository, times(1)).deleteById(1L);
+        verify(characterIndexes, times(1)).removed(argThat(previous -> previous.getId().equals(1L)));
+    }
+
+    @Test
+    void searchByName_WhenIndexReady_LoadsMatchesFromIndex() {
+        DndCharacter other = new DndCharacter("Stormwalker", "Elf", "Druid");
+        other.setId(2L);
+        nameTrigramIndex.add(testCharacter);
+        nameTrigramIndex.add(other);
+        when(characterIndexes.isReady()).thenReturn(true);
+        when(repository.findByIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(testCharacter));
+
+        List<DndCharacter> result = characterService.searchByName("tHeRo");
+
+        assertEquals(List.of(testCharacter), result);
+        verify(repository, never()).findByNameContainingIgnoreCase(any());
+    }
+
+    @Test
+    void searchByName_WithShortQuery_FallsBackToRepository() {
+        when(repository.findByNameContainingIgnoreCase("he")).thenReturn(List.of(testCharacter));
+
+        List<DndCharacter> result = characterService.searchByName("he");
+
+        assertEquals(1, result.size());
+        verify(repository, never()).findByIdInOrderByIdAsc(any());
+    }
+
+    @Test
+    void searchSummariesByName_WhenIndexReady_LoadsProjectionsFromIndex() {
+        CharacterSummary summary = mock(CharacterSummary.class);
+        nameTrigramIndex.add(testCharacter);
+        when(characterIndexes.isReady()).thenReturn(true);
+        when(repository.findByIdInOrderByIdAsc(List.of(1L), CharacterSummary.class)).thenReturn(List.of(summary));
+
+        List<CharacterSummary> result = characterService.searchSummariesByName("hero");
+
+        assertEquals(List.of(summary), result);
+    }
+
+    @Test
+    void getCharacterSummaryPage_ReturnsCursorOfLastSummary() {
+        CharacterSummary first = mock(CharacterSummary.class);
+        CharacterSummary second = mock(CharacterSummary.class);
+        when(first.getId()).thenReturn(7L);
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2), CharacterSummary.class))
+                .thenReturn(List.of(first, second));
+
+        CharacterPage<CharacterSummary> page = characterService.getCharacterSummaryPage(null, 1);
+
+        assertEquals(List.of(first), page.getItems());
+        assertEquals(7L, page.getNextCursor());
     }
 
     @Test
@@ -161,4 +430,75 @@ class DndCharacterServiceTest {
             assertTrue(validClasses.contains(randomCharacter.getCharacterClass()));
         }
     }
+
+    @Test
+    void generateRandomCharacter_WithSameSeed_IsReproducible() {
+        DndCharacter first = characterService.generateRandomCharacter(1234L);
+        DndCharacter second = characterService.generateRandomCharacter(1234L);
+
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getRace(), second.getRace());
+        assertEquals(first.getCharacterClass(), second.getCharacterClass());
+        assertEquals(first.getLevel(), second.getLevel());
+        assertEquals(first.getStrength(), second.getStrength());
+        assertEquals(first.getDexterity(), second.getDexterity());
+        assertEquals(first.getConstitution(), second.getConstitution());
+        assertEquals(first.getIntelligence(), second.getIntelligence());
+        assertEquals(first.getWisdom(), second.getWisdom());
+        assertEquals(first.getCharisma(), second.getCharisma());
+        assertEquals(first.getBackground(), second.getBackground());
+    }
+
+    @Test
+    void generateRandomCharacter_NameOfSavedCharacter_IsRedrawnWithoutQuery() {
+        String taken = characterService.generateRandomCharacter(1234L).getName();
+        nameFilter.add(new DndCharacter(taken.toUpperCase(), "Human", "Fighter"));
+
+        DndCharacter generated = characterService.generateRandomCharacter(1234L);
+
+        assertNotEquals(taken, generated.getName());
+        assertEquals(1, characterService.getRedrawnNameCount());
+        verify(repository, never()).existsByNameIgnoreCase(any());
+    }
+
+    @Test
+    void generateRandomCharacter_SeedReplayedAfterSave_ChangesOnlyTheName() {
+        DndCharacter first = characterService.generateRandomCharacter(1234L);
+        nameFilter.add(first);
+
+        DndCharacter replayed = characterService.generateRandomCharacter(1234L);
+
+        assertNotEquals(first.getName(), replayed.getName());
+        assertEquals(first.getRace(), replayed.getRace());
+        assertEquals(first.getCharacterClass(), replayed.getCharacterClass());
+        assertEquals(first.getLevel(), replayed.getLevel());
+        assertEquals(first.getStrength(), replayed.getStrength());
+        assertEquals(first.getDexterity(), replayed.getDexterity());
+        assertEquals(first.getConstitution(), replayed.getConstitution());
+        assertEquals(first.getIntelligence(), replayed.getIntelligence());
+        assertEquals(first.getWisdom(), replayed.getWisdom());
+        assertEquals(first.getCharisma(), replayed.getCharisma());
+        assertEquals(first.getBackground(), replayed.getBackground().replace(replayed.getName(), first.getName()));
+    }
+
+    @Test
+    void generateRandomCharacter_EveryNameHitsFilter_ConfirmsWithDatabase() {
+        // A filter sized for one name and given thousands reports every name as taken
+        NameUniquenessFilter fullFilter = new NameUniquenessFilter(1, 0.5);
+        for (int i = 0; i < 5000; i++) {
+            fullFilter.add(new DndCharacter("Name" + i, "Human", "Fighter"));
+        }
+        DndCharacterService service = new DndCharacterService(repository, new TableAbilityScoreRoller(),
+                new TemplateBackgroundGenerator(), new MarkovNameGenerator(), fullFilter, characterIndexes,
+                nameTrigramIndex, new NameAutocompleteIndex(), new CharacterCache(100, Duration.ofMinutes(10)),
+                rosterStatistics, columnarRoster, similarityIndex);
+        when(repository.existsByNameIgnoreCase(any())).thenReturn(false);
+
+        DndCharacter generated = service.generateRandomCharacter(1234L);
+
+        verify(repository).existsByNameIgnoreCase(generated.getName());
+        assertEquals(DndCharacterService.MAX_NAME_ATTEMPTS - 1, service.getRedrawnNameCount());
+        assertEquals(1, service.getFalsePositiveNameCount());
+        assertEquals(0, service.getDuplicateNameCount());
+    }
 }
@@ -0,0 +1,87 @@
+package com.schoolproject.dnd.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MarkovNameGenerator.
+ */
+class MarkovNameGeneratorTest {
+
+    private final MarkovNameGenerator generator = new MarkovNameGenerator();
+
+    @Test
+    void generate_EveryRace_GivesCapitalizedNamesWithinLengthLimits() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (String race : new String[]{"Human", "Elf", "Dwarf", "Halfling", "Dragonborn",
+                "Gnome", "Half-Elf", "Half-Orc", "Tiefling"}) {
+            for (int i = 0; i < 1_000; i++) {
+                String name = generator.generate(race, random);
+                assertTrue(name.length() >= MarkovNameGenerator.MIN_LENGTH
+                        && name.length() <= MarkovNameGenerator.MAX_LENGTH, name);
+                assertTrue(Character.isUpperCase(name.charAt(0)), name);
+                assertTrue(name.chars().allMatch(c -> Character.isLetter(c) || c == '\'' || c == '-'), name);
+            }
+        }
+    }
+
+    @Test
+    void generate_ManyNames_AreMostlyDistinct() {
+        SplittableRandom random = new SplittableRandom(2);
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            names.add(generator.generate("Elf", random));
+        }
+
+        // The prefix and suffix lists this replaced could only make 168 names
+        assertTrue(names.size() > 3_000, "distinct names: " + names.size());
+    }
+
+    @Test
+    void generate_SameSeed_GivesSameName() {
+        assertEquals(generator.generate("Dwarf", new SplittableRandom(9)),
+                generator.generate("Dwarf", new SplittableRandom(9)));
+    }
+
+    @Test
+    void model_UsesOwnCorpusOrCommonModel() {
+        MarkovNameGenerator small = new MarkovNameGenerator(new Resource[]{
+                corpus("orc.txt", "# comment\nGrok\nGrok\n"),
+                corpus("elf.txt", "Lia\n")
+        });
+        SplittableRandom random = new SplittableRandom(3);
+
+        assertEquals("Grok", small.generate("Orc", random));
+        assertNotEquals(small.model("Orc"), small.model("Gnome"));
+        assertEquals(small.model("Kobold"), small.model("Gnome"));
+        // The only elf name is too short, so the last attempt is kept
+        assertEquals("Lia", small.generate("Elf", random));
+    }
+
+    @Test
+    void appendName_AppendsAfterExistingText() {
+        StringBuilder out = new StringBuilder("Sir ");
+
+        generator.appendName(generator.model("Human"), new SplittableRandom(4), out);
+
+        assertTrue(out.toString().startsWith("Sir "), out.toString());
+        assertTrue(Character.isUpperCase(out.charAt(4)), out.toString());
+    }
+
+    private static Resource corpus(String filename, String names) {
+        return new ByteArrayResource(names.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.NameSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NameAutocompleteIndex.
+ */
+class NameAutocompleteIndexTest {
+
+    private NameAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameAutocompleteIndex();
+        index.add(character(1L, "Shadowblade", 3));
+        index.add(character(2L, "Stormwalker", 7));
+        index.add(character(3L, "Shadowheart", 9));
+        index.add(character(4L, "Shade", 3));
+        index.add(character(5L, "Ironheart", 10));
+    }
+
+    @Test
+    void suggest_RanksByLevelThenName() {
+        assertEquals(List.of(3L, 2L, 4L, 1L), ids(index.suggest("s", 10)));
+    }
+
+    @Test
+    void suggest_PrefixEndingInsideAnEdge_IgnoresCase() {
+        assertEquals(List.of(3L, 1L), ids(index.suggest("SHADO", 10)));
+        assertEquals(List.of(3L, 4L, 1L), ids(index.suggest("sha", 10)));
+    }
+
+    @Test
+    void suggest_StopsAtLimit() {
+        assertEquals(List.of(5L, 3L), ids(index.suggest("", 2)));
+    }
+
+    @Test
+    void suggest_UnknownPrefix_ReturnsNothing() {
+        assertTrue(index.suggest("shadez", 10).isEmpty());
+        assertTrue(index.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_DuplicateNames_AreAllReturned() {
+        index.add(character(6L, "Shade", 5));
+
+        List<NameSuggestion> suggestions = index.suggest("shade", 10);
+
+        assertEquals(List.of(6L, 4L), ids(suggestions));
+        assertEquals(5, suggestions.get(0).getLevel());
+        assertEquals("Shade", suggestions.get(0).getName());
+    }
+
+    @Test
+    void remove_MergesEdgesAndKeepsOtherNames() {
+        index.remove(character(4L, "Shade", 3));
+        index.remove(character(3L, "Shadowheart", 9));
+
+        assertEquals(List.of(1L), ids(index.suggest("sha", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.suggest("s", 10)));
+    }
+
+    @Test
+    void removeThenAdd_UpdatesRanking() {
+        index.remove(character(1L, "Shadowblade", 3));
+        index.add(character(1L, "Shadowblade", 20));
+
+        assertEquals(List.of(1L, 3L, 4L), ids(index.suggest("sha", 10)));
+    }
+
+    @Test
+    void clear_RemovesEverything() {
+        index.clear();
+
+        assertTrue(index.suggest("", 10).isEmpty());
+    }
+
+    private List<Long> ids(List<NameSuggestion> suggestions) {
+        return suggestions.stream().map(NameSuggestion::getId).toList();
+    }
+
+    private DndCharacter character(Long id, String name, int level) {
+        DndCharacter character = new DndCharacter(name, "Human", "Fighter");
+        character.setId(id);
+        character.setLevel(level);
+        return character;
+    }
+}
@@ -0,0 +1,70 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NameTrigramIndex.
+ */
+class NameTrigramIndexTest {
+
+    private NameTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameTrigramIndex();
+        index.add(character(1L, "Shadowblade"));
+        index.add(character(2L, "Stormwalker"));
+        index.add(character(3L, "Ironheart"));
+        index.add(character(4L, "Shadowheart"));
+    }
+
+    @Test
+    void search_FindsSubstringIgnoringCase() {
+        assertArrayEquals(new long[]{1L, 4L}, index.search("SHADOW"));
+        assertArrayEquals(new long[]{3L, 4L}, index.search("heart"));
+        assertArrayEquals(new long[]{2L}, index.search("rmwa"));
+    }
+
+    @Test
+    void search_VerifiesCandidatesContainTheWholeQuery() {
+        // "xabcabx" contains every trigram of "abcabc" but not "abcabc" itself
+        index.add(character(5L, "xabcabx"));
+
+        assertArrayEquals(new long[0], index.search("abcabc"));
+    }
+
+    @Test
+    void search_WithUnknownTrigram_ReturnsNothing() {
+        assertArrayEquals(new long[0], index.search("xyz"));
+    }
+
+    @Test
+    void remove_DropsCharacterFromResults() {
+        index.remove(character(1L, "Shadowblade"));
+
+        assertArrayEquals(new long[]{4L}, index.search("shadow"));
+    }
+
+    @Test
+    void add_ExistingId_ReplacesOldName() {
+        index.add(character(3L, "Moonseeker"));
+
+        assertArrayEquals(new long[]{4L}, index.search("heart"));
+        assertArrayEquals(new long[]{3L}, index.search("moon"));
+    }
+
+    @Test
+    void search_WithShortQuery_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("sh"));
+    }
+
+    private DndCharacter character(Long id, String name) {
+        DndCharacter character = new DndCharacter(name, "Human", "Fighter");
+        character.setId(id);
+        return character;
+    }
+}
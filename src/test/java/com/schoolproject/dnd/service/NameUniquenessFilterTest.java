@@ -0,0 +1,98 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NameUniquenessFilter.
+ */
+class NameUniquenessFilterTest {
+
+    private static final int NAMES = 10_000;
+
+    private NameUniquenessFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new NameUniquenessFilter(NAMES, 0.01);
+    }
+
+    @Test
+    void mightContain_AddedNames_AlwaysHitIgnoringCase() {
+        for (int i = 0; i < NAMES; i++) {
+            filter.add(character("Hero" + i));
+        }
+
+        for (int i = 0; i < NAMES; i++) {
+            assertTrue(filter.mightContain("hero" + i));
+            assertTrue(filter.mightContain(new StringBuilder("HERO").append(i)));
+        }
+        assertEquals(NAMES, filter.getNameCount());
+    }
+
+    @Test
+    void mightContain_OtherNames_HitAboutAsOftenAsEstimated() {
+        for (int i = 0; i < NAMES; i++) {
+            filter.add(character("Hero" + i));
+        }
+
+        int hits = 0;
+        for (int i = 0; i < NAMES; i++) {
+            if (filter.mightContain("Villain" + i)) {
+                hits++;
+            }
+        }
+        double estimate = filter.getEstimatedFalsePositiveRate();
+        assertEquals(0.01, estimate, 0.003);
+        assertEquals(estimate, (double) hits / NAMES, 0.005);
+    }
+
+    @Test
+    void remove_DropsNameButKeepsOthersWithSameCounters() {
+        filter.add(character("Aelar"));
+        filter.add(character("Aelar"));
+        filter.add(character("Brottor"));
+
+        filter.remove(character("Aelar"));
+        assertTrue(filter.mightContain("Aelar"));
+
+        filter.remove(character("Aelar"));
+        assertFalse(filter.mightContain("Aelar"));
+        assertTrue(filter.mightContain("Brottor"));
+        assertEquals(1, filter.getNameCount());
+    }
+
+    @Test
+    void remove_NameNeverAdded_ChangesNothing() {
+        filter.remove(character("Aelar"));
+        filter.add(character("Brottor"));
+        filter.remove(character("Aelar"));
+
+        assertTrue(filter.mightContain("Brottor"));
+        assertEquals(1, filter.getNameCount());
+    }
+
+    @Test
+    void clear_EmptiesFilter() {
+        filter.add(character("Aelar"));
+
+        filter.clear();
+
+        assertFalse(filter.mightContain("Aelar"));
+        assertEquals(0, filter.getNameCount());
+        assertEquals(0.0, filter.getEstimatedFalsePositiveRate());
+    }
+
+    @Test
+    void memory_IsAboutHalfAByteTimesBitsPerName() {
+        // 1% needs about 9.6 counters per name, at 4 bits each
+        assertEquals(NAMES * 9.6 / 2, filter.getMemoryBytes(), 100);
+    }
+
+    private static DndCharacter character(String name) {
+        return new DndCharacter(name, "Human", "Fighter");
+    }
+}
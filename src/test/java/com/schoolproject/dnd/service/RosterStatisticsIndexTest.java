@@ -0,0 +1,75 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import com.schoolproject.dnd.model.RosterStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RosterStatisticsIndex.
+ */
+class RosterStatisticsIndexTest {
+
+    private RosterStatisticsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RosterStatisticsIndex();
+        index.add(character("Human", "Fighter", 3, 16));
+        index.add(character("Elf", "Wizard", 5, 10));
+        index.add(character("Human", "Wizard", 3, 10));
+    }
+
+    @Test
+    void snapshot_CountsRacesClassesAndLevels() {
+        RosterStatistics stats = index.snapshot();
+
+        assertEquals(3, stats.getCount());
+        assertEquals(Map.of("Elf", 1L, "Human", 2L), stats.getRaceCounts());
+        assertEquals(Map.of("Fighter", 1L, "Wizard", 2L), stats.getClassCounts());
+        assertEquals(Map.of(3, 2L, 5, 1L), stats.getLevelCounts());
+    }
+
+    @Test
+    void snapshot_TracksAbilityMeanAndHistogram() {
+        RosterStatistics stats = index.snapshot();
+
+        assertEquals(12.0, stats.getAbilities().get("strength").getMean(), 1e-9);
+        assertEquals(Map.of(10, 2L, 16, 1L), stats.getAbilities().get("strength").getHistogram());
+        assertEquals(10.0, stats.getAbilities().get("charisma").getMean(), 1e-9);
+    }
+
+    @Test
+    void remove_DropsEmptyKeys() {
+        index.remove(character("Elf", "Wizard", 5, 10));
+
+        RosterStatistics stats = index.snapshot();
+        assertEquals(2, stats.getCount());
+        assertEquals(List.of("Human"), index.getRaces());
+        assertEquals(List.of("Fighter", "Wizard"), index.getClasses());
+        assertFalse(stats.getLevelCounts().containsKey(5));
+        assertEquals(13.0, stats.getAbilities().get("strength").getMean(), 1e-9);
+    }
+
+    @Test
+    void clear_ResetsEverything() {
+        index.clear();
+
+        RosterStatistics stats = index.snapshot();
+        assertEquals(0, stats.getCount());
+        assertTrue(stats.getRaceCounts().isEmpty());
+        assertEquals(0.0, stats.getAbilities().get("strength").getMean());
+    }
+
+    private DndCharacter character(String race, String characterClass, int level, int strength) {
+        DndCharacter character = new DndCharacter("Hero", race, characterClass);
+        character.setLevel(level);
+        character.setStrength(strength);
+        return character;
+    }
+}
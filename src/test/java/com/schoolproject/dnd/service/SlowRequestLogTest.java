@@ -0,0 +1,58 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.SlowRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SlowRequestLog.
+ */
+class SlowRequestLogTest {
+
+    private final SlowRequestLog log = new SlowRequestLog(3, Duration.ofMillis(100));
+
+    @Test
+    void isSlow_ComparesAgainstThreshold() {
+        assertFalse(log.isSlow(Duration.ofMillis(99).toNanos()));
+        assertTrue(log.isSlow(Duration.ofMillis(100).toNanos()));
+    }
+
+    @Test
+    void getSamples_ReturnsNewestFirst() {
+        log.record(sample("/a"));
+        log.record(sample("/b"));
+
+        assertEquals(List.of("/b", "/a"), uris(log.getSamples()));
+    }
+
+    @Test
+    void record_WhenFull_OverwritesOldest() {
+        for (String uri : List.of("/a", "/b", "/c", "/d", "/e")) {
+            log.record(sample(uri));
+        }
+
+        assertEquals(List.of("/e", "/d", "/c"), uris(log.getSamples()));
+    }
+
+    @Test
+    void clear_RemovesAllSamples() {
+        log.record(sample("/a"));
+        log.clear();
+        log.record(sample("/b"));
+
+        assertEquals(List.of("/b"), uris(log.getSamples()));
+    }
+
+    private static SlowRequest sample(String uri) {
+        return new SlowRequest(Instant.now(), "GET", uri, 200, 150.0, 1, 20.0, 0.0, 1.0);
+    }
+
+    private static List<String> uris(List<SlowRequest> samples) {
+        return samples.stream().map(SlowRequest::getUri).toList();
+    }
+}
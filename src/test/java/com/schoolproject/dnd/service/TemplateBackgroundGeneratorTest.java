@@ -0,0 +1,100 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.model.DndCharacter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TemplateBackgroundGenerator.
+ */
+class TemplateBackgroundGeneratorTest {
+
+    private final DndCharacter character = createCharacter();
+
+    @Test
+    void generate_DefaultTemplates_FillsCharacterSlots() {
+        TemplateBackgroundGenerator generator = new TemplateBackgroundGenerator();
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 100; i++) {
+            String background = generator.generate(character, random);
+            assertTrue(background.contains("Thorin"), background);
+            assertTrue(background.contains("Wizard"), background);
+            assertFalse(background.contains("{"), background);
+        }
+    }
+
+    @Test
+    void generate_SameSeed_GivesSameStory() {
+        TemplateBackgroundGenerator generator = new TemplateBackgroundGenerator();
+
+        assertEquals(generator.generate(character, new SplittableRandom(5)),
+                generator.generate(character, new SplittableRandom(5)));
+    }
+
+    @Test
+    void appendBackground_ResolvesNestedSectionsAndLevel() {
+        TemplateBackgroundGenerator generator = generatorFor("""
+                [template]
+                {name} ({level}) {deed}.
+                [deed]
+                slew {foe}
+                [foe]
+                a dragon
+                """);
+        StringBuilder out = new StringBuilder("kept: ");
+
+        generator.appendBackground(character, new SplittableRandom(1), out);
+
+        assertEquals("kept: Thorin (7) slew a dragon.", out.toString());
+    }
+
+    @Test
+    void generate_WeightedChoices_FollowWeights() {
+        TemplateBackgroundGenerator generator = generatorFor("""
+                # comment
+                [template]
+                3 common
+                1 rare
+                """);
+        SplittableRandom random = new SplittableRandom(3);
+
+        int common = 0;
+        for (int i = 0; i < 40_000; i++) {
+            if (generator.generate(character, random).equals("common")) {
+                common++;
+            }
+        }
+
+        assertEquals(30_000, common, 600);
+    }
+
+    @Test
+    void constructor_InvalidTemplates_ReportsLine() {
+        IllegalStateException unknownSlot = assertThrows(IllegalStateException.class,
+                () -> generatorFor("[template]\n{name} meets {stranger}\n"));
+        IllegalStateException cycle = assertThrows(IllegalStateException.class,
+                () -> generatorFor("[template]\n{a}\n[a]\nand {b}\n[b]\nthen {a}\n"));
+        IllegalStateException noStart = assertThrows(IllegalStateException.class,
+                () -> generatorFor("[origin]\na cave\n"));
+
+        assertTrue(unknownSlot.getMessage().contains("line 2: unknown slot {stranger}"), unknownSlot.getMessage());
+        assertTrue(cycle.getMessage().contains("refers back to itself"), cycle.getMessage());
+        assertTrue(noStart.getMessage().contains("no [template] section"), noStart.getMessage());
+    }
+
+    private static TemplateBackgroundGenerator generatorFor(String templates) {
+        return new TemplateBackgroundGenerator(new ByteArrayResource(templates.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static DndCharacter createCharacter() {
+        DndCharacter character = new DndCharacter("Thorin", "Dwarf", "Wizard");
+        character.setLevel(7);
+        return character;
+    }
+}
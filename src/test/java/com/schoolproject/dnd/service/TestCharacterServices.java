@@ -0,0 +1,59 @@
+package com.schoolproject.dnd.service;
+
+import com.schoolproject.dnd.repository.DndCharacterRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * DndCharacterService instances for tests and benchmarks that generate characters without a database.
+ * The repository is a stub with no saved characters: it reports every name as free and rejects
+ * any other call. The indexes and the cache are real and start empty.
+ */
+public final class TestCharacterServices {
+
+    private TestCharacterServices() {
+    }
+
+    /**
+     * A service that can generate characters, with default generators and an empty name filter.
+     */
+    public static DndCharacterService generationOnly() {
+        return generationOnly(new TemplateBackgroundGenerator(), new MarkovNameGenerator(),
+                new NameUniquenessFilter(1000, 0.01), new NameAutocompleteIndex());
+    }
+
+    /**
+     * A service that can generate characters with the given generators and name filter,
+     * and suggest names from the given autocomplete index.
+     */
+    public static DndCharacterService generationOnly(BackgroundGenerator backgroundGenerator,
+                                                     MarkovNameGenerator nameGenerator,
+                                                     NameUniquenessFilter nameFilter,
+                                                     NameAutocompleteIndex autocompleteIndex) {
+        DndCharacterRepository repository = emptyRepository();
+        NameTrigramIndex trigramIndex = new NameTrigramIndex();
+        RosterStatisticsIndex rosterStatistics = new RosterStatisticsIndex();
+        ColumnarRoster columnarRoster = new ColumnarRoster(true);
+        AbilitySimilarityIndex similarityIndex = new AbilitySimilarityIndex();
+        CharacterIndexes characterIndexes = new CharacterIndexes(repository, List.of(nameFilter, trigramIndex,
+                autocompleteIndex, rosterStatistics, columnarRoster, similarityIndex));
+        return new DndCharacterService(repository, new TableAbilityScoreRoller(), backgroundGenerator,
+                nameGenerator, nameFilter, characterIndexes, trigramIndex, autocompleteIndex,
+                new CharacterCache(100, Duration.ofMinutes(10)), rosterStatistics, columnarRoster,
+                similarityIndex);
+    }
+
+    private static DndCharacterRepository emptyRepository() {
+        return (DndCharacterRepository) Proxy.newProxyInstance(DndCharacterRepository.class.getClassLoader(),
+                new Class<?>[]{DndCharacterRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "existsByNameIgnoreCase" -> false;
+                    case "toString" -> "empty DndCharacterRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(
+                            method.getName() + " needs a database; this service only generates characters");
+                });
+    }
+}